@@ -0,0 +1,63 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDTO;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last/next booking lookups that build the item view, overlap checks of booking creation and the availability
+ * calendar, all over one item with a growing number of bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingIndexBenchmark {
+    private static final Long ITEM_ID = 1L;
+
+    @Param({"10", "1000", "100000"})
+    private int bookingsPerItem;
+
+    private BookingIntervalIndex index;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42, true);
+        List<User> users = data.users(100);
+        List<Item> items = data.items(1, users);
+        List<Booking> bookings = data.bookings(bookingsPerItem, items, users);
+
+        index = new BookingIntervalIndex(null);
+        for (Booking booking : bookings) {
+            index.add(ITEM_ID, booking.getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+        }
+        now = bookings.get(bookings.size() / 2).getStart().plusMinutes(30);
+    }
+
+    @Benchmark
+    public void lastAndNextBooking(Blackhole blackhole) {
+        blackhole.consume(index.findLastBooking(ITEM_ID, now));
+        blackhole.consume(index.findNextBooking(ITEM_ID, now));
+    }
+
+    @Benchmark
+    public boolean overlaps() {
+        return index.overlaps(ITEM_ID, now, now.plusDays(1));
+    }
+
+    @Benchmark
+    public List<AvailabilitySlotDTO> availability90Days() {
+        return index.availability(ITEM_ID, now, now.plusDays(90));
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dao.ItemRequestDao;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing the requests of one user together with the items offered for them, which goes through
+ * ItemRequestServiceImpl.getItemRequestOutDtoList.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestBenchmark {
+    private static final int ITEMS_PER_REQUEST = 3;
+
+    @Param({"10", "100", "1000"})
+    private int requestCount;
+
+    private ConfigurableApplicationContext context;
+    private ItemRequestService itemRequestService;
+    private Long requesterId;
+
+    @Setup
+    public void setUp() {
+        context = ServerContext.start();
+        itemRequestService = context.getBean(ItemRequestService.class);
+
+        SyntheticData data = new SyntheticData(42, false);
+        List<User> users = context.getBean(UserDao.class).saveAll(data.users(2));
+        User requester = users.get(0);
+        requesterId = requester.getId();
+
+        List<ItemRequest> requests = new ArrayList<>(requestCount);
+        for (int i = 0; i < requestCount; i++) {
+            requests.add(ItemRequest.builder()
+                    .requester(requester)
+                    .description("Нужен инструмент #" + i)
+                    .build());
+        }
+        requests = context.getBean(ItemRequestDao.class).saveAll(requests);
+
+        List<Item> items = data.items(requestCount * ITEMS_PER_REQUEST, List.of(users.get(1)));
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setRequestId(requests.get(i / ITEMS_PER_REQUEST).getId());
+        }
+        context.getBean(ItemDao.class).saveAll(items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> findAllByUser() {
+        return itemRequestService.findAllByUser(requesterId);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingDao;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemDao search queries on an H2 dataset, with and without the free period filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+    @Param({"1000", "20000"})
+    private int itemCount;
+
+    @Param({"дрель", "ил"})
+    private String text;
+
+    private final Pageable page = PageRequest.of(0, 20);
+
+    private ConfigurableApplicationContext context;
+    private ItemDao itemDao;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup
+    public void setUp() {
+        context = ServerContext.start();
+        itemDao = context.getBean(ItemDao.class);
+
+        SyntheticData data = new SyntheticData(42, false);
+        List<User> users = context.getBean(UserDao.class).saveAll(data.users(100));
+        List<Item> items = itemDao.saveAll(data.items(itemCount, users));
+        context.getBean(BookingDao.class).saveAll(data.bookings(itemCount * 5, items, users));
+
+        start = SyntheticData.EPOCH.plusDays(5);
+        end = start.plusDays(3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        return itemDao.search(text, page).getContent();
+    }
+
+    @Benchmark
+    public List<Item> searchFree() {
+        return itemDao.searchFree(text, start, end, page);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingOutDTO;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.CommentMapperImpl;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.CommentOutDTO;
+import ru.practicum.shareit.item.dto.ItemOutDTO;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List mappings of the MapStruct mappers used by the listing endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"100", "10000"})
+    private int size;
+
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+    private final CommentMapper commentMapper = new CommentMapperImpl();
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42, true);
+        List<User> users = data.users(100);
+        items = data.items(size, users);
+        bookings = data.bookings(size, items, users);
+        comments = data.comments(size, items, users);
+    }
+
+    @Benchmark
+    public List<BookingOutDTO> bookingsToOutDTO() {
+        return bookingMapper.toListOutDTO(bookings);
+    }
+
+    @Benchmark
+    public List<ItemOutDTO> itemsToOutDTO() {
+        return itemMapper.toListOutDTO(items);
+    }
+
+    @Benchmark
+    public List<CommentOutDTO> commentsToOutDTO() {
+        return commentMapper.toListOutDTO(comments);
+    }
+}
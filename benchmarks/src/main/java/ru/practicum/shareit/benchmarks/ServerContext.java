@@ -0,0 +1,28 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+/**
+ * Starts the server application without the web layer on a private in-memory H2 database.
+ */
+public final class ServerContext {
+    private ServerContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        String[] args = new String[properties.length + 4];
+        args[0] = "--spring.datasource.driverClassName=org.h2.Driver";
+        args[1] = "--spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime();
+        args[2] = "--logging.level.root=WARN";
+        args[3] = "--logging.level.org.springframework.transaction.interceptor=WARN";
+        for (int i = 0; i < properties.length; i++) {
+            args[i + 4] = "--" + properties[i];
+        }
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
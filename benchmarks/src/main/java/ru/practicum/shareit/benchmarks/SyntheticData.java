@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic entities for the benchmarks: the same seed always produces the same data,
+ * so results of different runs are comparable.
+ */
+public class SyntheticData {
+    public static final LocalDateTime EPOCH = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private static final String[] NAMES = {"Дрель", "Отвертка", "Пила", "Шуруповерт", "Лестница", "Палатка",
+            "Велосипед", "Перфоратор", "Лобзик", "Рюкзак"};
+    private static final String[] ADJECTIVES = {"простая", "аккумуляторная", "ударная", "складная", "походная",
+            "профессиональная", "компактная", "легкая"};
+
+    private final Random random;
+    private final boolean withIds;
+
+    /**
+     * @param withIds whether entities get ids, leave them out for data that is going to be saved
+     */
+    public SyntheticData(long seed, boolean withIds) {
+        this.random = new Random(seed);
+        this.withIds = withIds;
+    }
+
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .id(ids(i))
+                    .name("User " + i)
+                    .email("user" + i + "@shareit.test")
+                    .build());
+        }
+        return users;
+    }
+
+    public List<Item> items(int count, List<User> owners) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            items.add(Item.builder()
+                    .id(ids(i))
+                    .name(name)
+                    .description(name + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " #" + i)
+                    .available(random.nextInt(10) != 0)
+                    .owner(owners.get(random.nextInt(owners.size())))
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * Non-overlapping bookings spread over the items, each item gets its bookings one after another
+     * starting at {@link #EPOCH} with random gaps.
+     */
+    public List<Booking> bookings(int count, List<Item> items, List<User> bookers) {
+        List<Booking> bookings = new ArrayList<>(count);
+        LocalDateTime[] nextFree = new LocalDateTime[items.size()];
+        for (int i = 0; i < count; i++) {
+            int itemIndex = i % items.size();
+            LocalDateTime start = (nextFree[itemIndex] == null ? EPOCH : nextFree[itemIndex])
+                    .plusHours(random.nextInt(48));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            nextFree[itemIndex] = end;
+            bookings.add(Booking.builder()
+                    .id(ids(i))
+                    .item(items.get(itemIndex))
+                    .booker(bookers.get(random.nextInt(bookers.size())))
+                    .status(random.nextInt(4) == 0 ? Status.WAITING : Status.APPROVED)
+                    .start(start)
+                    .end(end)
+                    .build());
+        }
+        return bookings;
+    }
+
+    public List<Comment> comments(int count, List<Item> items, List<User> authors) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(Comment.builder()
+                    .id(ids(i))
+                    .text("Комментарий " + i)
+                    .item(items.get(random.nextInt(items.size())))
+                    .author(authors.get(random.nextInt(authors.size())))
+                    .created(EPOCH.minusMinutes(random.nextInt(100_000)))
+                    .build());
+        }
+        return comments;
+    }
+
+    private Long ids(int index) {
+        return withIds ? index + 1L : null;
+    }
+}
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RestTemplateTransport;
+import ru.practicum.shareit.client.ServerClientProperties;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.WebClientTransport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One listing request through the gateway, from the server response to the bytes written to the client:
+ * the transport reads the body with its message converters or codecs, BaseClient prepares the gateway response,
+ * and the Spring MVC message converters write it out. The server is replaced by a canned response, so only
+ * the gateway's own work is measured. Compare passthrough=true with passthrough=false; with the default
+ * -prof gc the gc.alloc.rate.norm rows give the allocated bytes per request of each mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayPassthroughBenchmark {
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    @Param({"items", "bookings"})
+    private String endpoint;
+
+    @Param({"20", "1000"})
+    private int size;
+
+    @Param({"blocking", "reactive"})
+    private String clientMode;
+
+    @Param({"true", "false"})
+    private boolean passthrough;
+
+    private final List<HttpMessageConverter<?>> converters = new HttpMessageConverters().getConverters();
+    private ListingClient client;
+    private String path;
+    private Map<String, Object> parameters;
+
+    @Setup
+    public void setUp() throws IOException {
+        ListingPayloads payloads = new ListingPayloads(42);
+        String baseUrl = SERVER_URL + "/" + endpoint;
+        byte[] body;
+        if ("items".equals(endpoint)) {
+            body = payloads.items(size);
+            path = "?from={from}&size={size}";
+            parameters = Map.of("from", 0, "size", size);
+        } else {
+            body = payloads.bookings(size);
+            path = "?state={state}&from={from}&size={size}";
+            parameters = Map.of("state", "ALL", "from", 0, "size", size);
+        }
+        ServerTransport transport = "reactive".equals(clientMode)
+                ? new WebClientTransport(cannedWebClient(baseUrl, body), passthrough)
+                : new RestTemplateTransport(cannedRestTemplate(baseUrl, body), passthrough);
+        client = new ListingClient(transport);
+    }
+
+    @Benchmark
+    public void listing(Blackhole blackhole) throws IOException {
+        ResponseEntity<Object> response = client.list(path, parameters).block();
+        write(response, new DiscardingOutputMessage(blackhole));
+    }
+
+    /**
+     * Picks the first converter able to write the body, as Spring MVC does for a ResponseEntity of Object.
+     */
+    @SuppressWarnings("unchecked")
+    private void write(ResponseEntity<Object> response, HttpOutputMessage output) throws IOException {
+        Object body = response.getBody();
+        MediaType contentType = response.getHeaders().getContentType();
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter.canWrite(body.getClass(), contentType)) {
+                ((HttpMessageConverter<Object>) converter).write(body, contentType, output);
+                return;
+            }
+        }
+        throw new IllegalStateException("No converter for " + body.getClass());
+    }
+
+    private static RestTemplate cannedRestTemplate(String baseUrl, byte[] body) {
+        ClientHttpRequestFactory requestFactory = (uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        };
+        return new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    private static WebClient cannedWebClient(String baseUrl, byte[] body) {
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                        .build()))
+                .build();
+    }
+
+    private static final class ListingClient extends BaseClient {
+        ListingClient(ServerTransport transport) {
+            super(transport, new ResponseCache(new ServerClientProperties(), new SimpleMeterRegistry()));
+        }
+
+        Mono<ResponseEntity<Object>> list(String path, Map<String, Object> parameters) {
+            return get(path, 1L, parameters);
+        }
+    }
+
+    /**
+     * Stands in for the servlet response: the written bytes go to the blackhole instead of a socket.
+     */
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body;
+
+        DiscardingOutputMessage(Blackhole blackhole) {
+            this.body = new OutputStream() {
+                @Override
+                public void write(int b) {
+                    blackhole.consume(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    blackhole.consume(b);
+                    blackhole.consume(len);
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingOutDTO;
+import ru.practicum.shareit.booking.dto.BookingShortDTO;
+import ru.practicum.shareit.item.dto.CommentOutDTO;
+import ru.practicum.shareit.item.dto.ItemOutDTO;
+import ru.practicum.shareit.user.dto.UserOutDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic JSON bodies shaped like the server's GET /items and GET /bookings listings,
+ * serialized the way the server writes them.
+ */
+public class ListingPayloads {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final String[] NAMES = {"Дрель", "Отвертка", "Пила", "Шуруповерт", "Лестница", "Палатка",
+            "Велосипед", "Перфоратор", "Лобзик", "Рюкзак"};
+    private static final String[] ADJECTIVES = {"простая", "аккумуляторная", "ударная", "складная", "походная",
+            "профессиональная", "компактная", "легкая"};
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Random random;
+
+    public ListingPayloads(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Owner listing: items with their last and next bookings and latest comments.
+     */
+    public byte[] items(int count) throws JsonProcessingException {
+        List<ItemOutDTO> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<CommentOutDTO> comments = new ArrayList<>(COMMENTS_PER_ITEM);
+            for (int c = 0; c < COMMENTS_PER_ITEM; c++) {
+                comments.add(CommentOutDTO.builder()
+                        .id((long) i * COMMENTS_PER_ITEM + c + 1)
+                        .text("Брал на выходные, всё работает, комментарий " + c)
+                        .authorName("User " + random.nextInt(100))
+                        .created(EPOCH.minusHours(random.nextInt(1000)))
+                        .build());
+            }
+            ItemOutDTO item = item(i).toBuilder()
+                    .lastBooking(new BookingShortDTO((long) i * 2 + 1, (long) random.nextInt(100) + 1))
+                    .nextBooking(new BookingShortDTO((long) i * 2 + 2, (long) random.nextInt(100) + 1))
+                    .comments(comments)
+                    .build();
+            items.add(item);
+        }
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    /**
+     * Booker listing: bookings with the booker and the booked item.
+     */
+    public byte[] bookings(int count) throws JsonProcessingException {
+        List<BookingOutDTO> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = EPOCH.plusHours(random.nextInt(10_000));
+            int bookerId = random.nextInt(100) + 1;
+            bookings.add(BookingOutDTO.builder()
+                    .id((long) i + 1)
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(72)))
+                    .status(Status.values()[random.nextInt(2)])
+                    .booker(UserOutDTO.builder()
+                            .id((long) bookerId)
+                            .name("User " + bookerId)
+                            .email("user" + bookerId + "@shareit.test")
+                            .build())
+                    .item(item(random.nextInt(count)))
+                    .build());
+        }
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    private ItemOutDTO item(int index) {
+        String name = NAMES[random.nextInt(NAMES.length)];
+        return ItemOutDTO.builder()
+                .id((long) index + 1)
+                .name(name)
+                .description(name + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " #" + index)
+                .available(random.nextInt(10) != 0)
+                .build();
+    }
+}
@@ -1,15 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,48 +18,54 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerTransportFactory transportFactory, ResponseCache responseCache) {
+        super(transportFactory.create(API_PREFIX), responseCache, ResponseCache.ITEMS);
     }
 
-    public ResponseEntity<Object> getUserBookings(long userId, State state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getUserBookings(long userId, State state, Integer from, Integer size, String cursor) {
+        return get("?state={state}&from={from}&size={size}" + cursorQuery(cursor), userId,
+                listParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> createBooking(Long bookerId, BookingDTO bookingDTO) {
+    public Mono<ResponseEntity<Object>> createBooking(Long bookerId, BookingDTO bookingDTO) {
         String url = "";
         return post(url, bookerId, bookingDTO);
     }
 
-    public ResponseEntity<Object> getBooking(Long userId, Long bookerId) {
+    public Mono<ResponseEntity<Object>> createBookings(Long bookerId, List<BookingDTO> bookingDTOs) {
+        return post("/bulk", bookerId, bookingDTOs);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(Long userId, Long bookerId) {
         String url = "/" + bookerId;
         return get(url, userId);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, State state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner" + "?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getOwnerBookings(long userId, State state, Integer from, Integer size, String cursor) {
+        return get("/owner" + "?state={state}&from={from}&size={size}" + cursorQuery(cursor), userId,
+                listParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> updateBookingStatus(long bookerId, long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> updateBookingStatus(long bookerId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
         String url = "/" + bookingId + "?approved=" + approved;
         return patch(url, bookerId, parameters);
     }
+
+    private static String cursorQuery(String cursor) {
+        return cursor == null ? "" : "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> listParameters(State state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
 }
@@ -5,10 +5,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDTO;
 import ru.practicum.shareit.exception.BadRequestException;
 
+import java.util.List;
+
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
@@ -21,39 +25,48 @@ public class BookingController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createBooking(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader("X-Sharer-User-Id") Long bookerId,
                                                 @RequestBody @Valid BookingDTO bookingDTO) {
         return bookingClient.createBooking(bookerId, bookingDTO);
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Object>> createBookings(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                 @RequestBody @NotEmpty List<@Valid BookingDTO> bookingDTOs) {
+        return bookingClient.createBookings(bookerId, bookingDTOs);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @PathVariable Long bookingId) {
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+    public Mono<ResponseEntity<Object>> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long bookerId,
                                                   @RequestParam(required = false, defaultValue = "ALL") String state,
                                                   @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                  @RequestParam(defaultValue = "10") @Positive Integer size) {
+                                                  @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                  @RequestParam(required = false) String cursor) {
         validState(state);
         State validatedState = validState(state);
-        return bookingClient.getUserBookings(bookerId, validatedState, from, size);
+        return bookingClient.getUserBookings(bookerId, validatedState, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+    public Mono<ResponseEntity<Object>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                    @RequestParam(required = false, defaultValue = "ALL") String state,
                                                    @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                   @RequestParam(defaultValue = "10") @Positive Integer size) {
+                                                   @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                   @RequestParam(required = false) String cursor) {
         validState(state);
         State validatedState = validState(state);
-        return bookingClient.getOwnerBookings(ownerId, validatedState, from, size);
+        return bookingClient.getOwnerBookings(ownerId, validatedState, from, size, cursor);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBookingStatus(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+    public Mono<ResponseEntity<Object>> updateBookingStatus(@RequestHeader("X-Sharer-User-Id") Long bookerId,
                                                       @PathVariable Long bookingId,
                                                       @RequestParam boolean approved) {
         return bookingClient.updateBookingStatus(bookerId, bookingId, approved);
@@ -1,98 +1,200 @@
 package ru.practicum.shareit.client;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
-import org.springframework.http.HttpEntity;
+import com.github.benmanes.caffeine.cache.Cache;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
-    protected final RestTemplate rest;
-
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
-    }
-
-    protected ResponseEntity<Object> get(String path) {
+    /**
+     * End-to-end headers of the server response that reach the gateway client, connection-level ones are dropped.
+     */
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.ETAG,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.LOCATION,
+            "X-Next-Cursor"
+    );
+
+    protected final ServerTransport transport;
+    private final ResponseCache responseCache;
+    private final List<String> invalidatedRegions;
+    private final Cache<String, ResponseEntity<Object>> validatedResponses;
+
+    /**
+     * @param invalidatedRegions response cache regions that every write sent through this client may change
+     */
+    public BaseClient(ServerTransport transport, ResponseCache responseCache, String... invalidatedRegions) {
+        this.transport = transport;
+        this.responseCache = responseCache;
+        this.invalidatedRegions = List.of(invalidatedRegions);
+        this.validatedResponses = responseCache.validatedResponses(getClass().getSimpleName());
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String ifNoneMatch = clientIfNoneMatch();
+        return fetch(path, userId, parameters, ifNoneMatch)
+                .map(response -> notModifiedIfMatches(response, ifNoneMatch));
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected Mono<ResponseEntity<Object>> cachedGet(String region, String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters) {
+        String ifNoneMatch = clientIfNoneMatch();
+        return responseCache.get(region, requestKey(path, userId, parameters),
+                        () -> fetch(path, userId, parameters, ifNoneMatch))
+                .map(response -> notModifiedIfMatches(response, ifNoneMatch));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected Mono<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        return invalidateAfter(transport.stream(HttpMethod.POST, path, headers, body)
+                .map(BaseClient::prepareGatewayResponse));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return invalidateAfter(transport.exchange(method, path, parameters, defaultHeaders(userId), body)
+                .map(BaseClient::prepareGatewayResponse));
+    }
+
+    /**
+     * Sends a GET. When the gateway holds an earlier response with an ETag for the same request it revalidates
+     * that response and reuses its body on 304, otherwise the client's own If-None-Match is forwarded
+     * so the server can answer 304 directly.
+     */
+    private Mono<ResponseEntity<Object>> fetch(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                               @Nullable String ifNoneMatch) {
+        String key = requestKey(path, userId, parameters);
+        ResponseEntity<Object> validated = validatedResponses.getIfPresent(key);
+        HttpHeaders headers = defaultHeaders(userId);
+        if (validated != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, validated.getHeaders().getETag());
+        } else if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return transport.exchange(HttpMethod.GET, path, parameters, headers, null)
+                .map(BaseClient::prepareGatewayResponse)
+                .map(response -> {
+                    if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && validated != null) {
+                        return validated;
+                    }
+                    if (response.getStatusCode().is2xxSuccessful() && response.getHeaders().getETag() != null) {
+                        validatedResponses.put(key, response);
+                    }
+                    return response;
+                });
+    }
+
+    private Mono<ResponseEntity<Object>> invalidateAfter(Mono<ResponseEntity<Object>> write) {
+        if (invalidatedRegions.isEmpty()) {
+            return write;
+        }
+        return write.doOnNext(response -> responseCache.invalidate(invalidatedRegions));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+    private static String requestKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return path + (parameters == null ? "" : new TreeMap<>(parameters)) + "|" + userId;
+    }
+
+    @Nullable
+    private static String clientIfNoneMatch() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+        }
+        return null;
+    }
+
+    private static ResponseEntity<Object> notModifiedIfMatches(ResponseEntity<Object> response, @Nullable String ifNoneMatch) {
+        String etag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || etag == null || !response.getStatusCode().is2xxSuccessful()) {
+            return response;
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        HttpHeaders conditions = new HttpHeaders();
+        conditions.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        String opaqueTag = opaqueTag(etag);
+        boolean matches = conditions.getIfNoneMatch().stream()
+                .anyMatch(tag -> "*".equals(tag) || opaqueTag(tag).equals(opaqueTag));
+        if (!matches) {
+            return response;
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .build();
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -106,16 +208,15 @@ public class BaseClient {
     }
 
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        HttpHeaders headers = new HttpHeaders();
+        for (String header : FORWARDED_HEADERS) {
+            List<String> values = response.getHeaders().get(header);
+            if (values != null) {
+                headers.put(header, values);
+            }
         }
-
-        return responseBuilder.build();
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(response.getBody());
     }
-}
\ No newline at end of file
+}
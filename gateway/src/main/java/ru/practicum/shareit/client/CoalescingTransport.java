@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight wrapper: identical GETs (same path, parameters and user) that arrive while one of them is
+ * still waiting for the server share its response instead of being sent again.
+ * A request that arrives after the response is only answered by a new call, so nothing is served stale.
+ */
+public class CoalescingTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final Counter coalesced;
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingTransport(ServerTransport delegate, Counter coalesced) {
+        this.delegate = delegate;
+        this.coalesced = coalesced;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                 HttpHeaders headers, @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, parameters, headers, body);
+        }
+        String key = path + (parameters == null ? "" : new TreeMap<>(parameters)) + "|" + headers;
+        return Mono.defer(() -> {
+            Flight flight = new Flight();
+            flight.response = delegate.exchange(method, path, parameters, headers, null)
+                    .doFinally(signal -> inFlight.remove(key, flight))
+                    .cache();
+            Flight current = inFlight.putIfAbsent(key, flight);
+            if (current == null) {
+                return flight.response;
+            }
+            coalesced.increment();
+            return current.response;
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> stream(HttpMethod method, String path, HttpHeaders headers, InputStream body) {
+        return delegate.stream(method, path, headers, body);
+    }
+
+    private static final class Flight {
+        private Mono<ResponseEntity<Object>> response;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded cache of successful server responses. Entries are grouped into regions, and a write
+ * sent through a gateway client drops every region it may have changed.
+ * Writes made through another gateway instance are only seen after the TTL.
+ * Every invalidation bumps the generation of the region, and a response loaded under an older generation
+ * is not kept, so a read that was in flight during a write cannot put the old state back.
+ */
+@Component
+public class ResponseCache {
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+    private final ServerClientProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ResponseCache(ServerClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<ResponseEntity<Object>> get(String region, String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        Region cacheRegion = region(region);
+        ResponseEntity<Object> cached = cacheRegion.cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = cacheRegion.generation.get();
+        return loader.get().doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful()) {
+                cacheRegion.put(key, response, generation);
+            }
+        });
+    }
+
+    /**
+     * Store of the last response with an ETag per request of one client. The gateway revalidates these entries
+     * with If-None-Match on every read, so they are never served without the server confirming them.
+     */
+    public Cache<String, ResponseEntity<Object>> validatedResponses(String name) {
+        return CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(properties.getCacheMaxSize())
+                        .expireAfterAccess(properties.getEtagTtl())
+                        .recordStats()
+                        .<String, ResponseEntity<Object>>build(),
+                "gateway-etag-" + name);
+    }
+
+    public void invalidate(Collection<String> regionNames) {
+        for (String regionName : regionNames) {
+            Region region = regions.get(regionName);
+            if (region != null) {
+                region.invalidate();
+            }
+        }
+    }
+
+    private Region region(String name) {
+        return regions.computeIfAbsent(name, regionName -> new Region(CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(properties.getCacheMaxSize())
+                        .expireAfterWrite(properties.getCacheTtl())
+                        .recordStats()
+                        .<String, ResponseEntity<Object>>build(),
+                "gateway-" + regionName)));
+    }
+
+    private static final class Region {
+        private final Cache<String, ResponseEntity<Object>> cache;
+        private final AtomicLong generation = new AtomicLong();
+
+        private Region(Cache<String, ResponseEntity<Object>> cache) {
+            this.cache = cache;
+        }
+
+        void put(String key, ResponseEntity<Object> response, long loadedGeneration) {
+            if (generation.get() != loadedGeneration) {
+                return;
+            }
+            cache.put(key, response);
+            // an invalidation between the check and the put may have cleared the region before the put landed
+            if (generation.get() != loadedGeneration) {
+                cache.asMap().remove(key, response);
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+}
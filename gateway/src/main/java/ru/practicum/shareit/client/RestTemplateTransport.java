@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Blocking transport: the request runs on the thread that subscribes, which is the servlet thread of the gateway.
+ */
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final Class<?> responseType;
+
+    public RestTemplateTransport(RestTemplate rest, boolean passthrough) {
+        this.rest = rest;
+        this.responseType = passthrough ? byte[].class : Object.class;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                 HttpHeaders headers, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, parameters, new HttpEntity<>(body, headers)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> stream(HttpMethod method, String path, HttpHeaders headers, InputStream body) {
+        RequestCallback requestCallback = request -> {
+            request.getHeaders().addAll(headers);
+            StreamUtils.copy(body, request.getBody());
+        };
+        return Mono.fromCallable(() -> {
+            try {
+                return toObjectEntity(rest.execute(path, method, requestCallback, rest.responseEntityExtractor(responseType)));
+            } catch (HttpStatusCodeException e) {
+                return errorResponse(e);
+            }
+        });
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                        HttpEntity<Object> requestEntity) {
+        try {
+            if (parameters != null) {
+                return toObjectEntity(rest.exchange(path, method, requestEntity, responseType, parameters));
+            }
+            return toObjectEntity(rest.exchange(path, method, requestEntity, responseType));
+        } catch (HttpStatusCodeException e) {
+            return errorResponse(e);
+        }
+    }
+
+    private static ResponseEntity<Object> toObjectEntity(ResponseEntity<?> response) {
+        Object body = response.getBody();
+        return ResponseEntity.status(response.getStatusCodeValue()).headers(response.getHeaders()).body(body);
+    }
+
+    private static ResponseEntity<Object> errorResponse(HttpStatusCodeException e) {
+        return ResponseEntity.status(e.getRawStatusCode())
+                .headers(e.getResponseHeaders())
+                .body(e.getResponseBodyAsByteArray());
+    }
+}
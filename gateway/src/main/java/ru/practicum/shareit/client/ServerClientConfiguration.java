@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One connection pool per transport, shared by every gateway client, so clients do not compete
+ * for the two connections per route an unconfigured HttpClient allows.
+ */
+@Configuration
+@EnableConfigurationProperties(ServerClientProperties.class)
+public class ServerClientConfiguration {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager serverConnectionManager(ServerClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        return connectionManager;
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                ServerClientProperties properties) {
+        long keepAlive = properties.getKeepAlive().toMillis();
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long declared = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return declared > 0 ? declared : keepAlive;
+        };
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                        .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                        .setConnectionRequestTimeout((int) properties.getLeaseTimeout().toMillis())
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+        // bulk imports are piped to the server as they arrive instead of being buffered in memory
+        requestFactory.setBufferRequestBody(false);
+        return requestFactory;
+    }
+
+    /**
+     * Picked up by the auto-configured {@code WebClient.Builder}, so the reactive transport uses the same limits.
+     */
+    @Bean
+    public ReactorClientHttpConnector serverHttpConnector(ServerClientProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getLeaseTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .evictInBackground(properties.getIdleTimeout())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection settings shared by all gateway clients of the ShareIt server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ServerClientProperties {
+    private String url;
+    /**
+     * blocking - RestTemplate on the servlet thread, reactive - WebClient over Reactor Netty.
+     */
+    private String clientMode = "blocking";
+    /**
+     * Forward server response bodies as raw bytes instead of parsing and re-serializing them.
+     */
+    private boolean passthrough = true;
+    /**
+     * Send identical GETs that are in flight at the same time to the server once.
+     */
+    private boolean coalesceGets = true;
+    private int maxTotal = 200;
+    private int maxPerRoute = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * How long a request waits for a free pooled connection.
+     */
+    private Duration leaseTimeout = Duration.ofSeconds(5);
+    /**
+     * Pooled connections idle for longer are closed by a background evictor.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * Keep-alive used when the server response does not declare one.
+     */
+    private Duration keepAlive = Duration.ofMinutes(1);
+    /**
+     * Upper bound of cached responses per cache region.
+     */
+    private long cacheMaxSize = 10_000;
+    private Duration cacheTtl = Duration.ofSeconds(30);
+    /**
+     * How long an unused response is kept for ETag revalidation.
+     */
+    private Duration etagTtl = Duration.ofMinutes(10);
+
+    public boolean isReactive() {
+        return "reactive".equalsIgnoreCase(clientMode);
+    }
+}
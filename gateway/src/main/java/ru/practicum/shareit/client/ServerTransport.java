@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Sends a request to the ShareIt server. Error responses of the server are returned as responses, not signalled as errors.
+ */
+public interface ServerTransport {
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                          HttpHeaders headers, @Nullable Object body);
+
+    Mono<ResponseEntity<Object>> stream(HttpMethod method, String path, HttpHeaders headers, InputStream body);
+}
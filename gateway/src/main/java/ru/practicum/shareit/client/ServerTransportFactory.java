@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+/**
+ * Builds the transport of every gateway client. {@code shareit-server.client-mode=reactive} switches all clients
+ * from the blocking RestTemplate to WebClient, {@code shareit-server.passthrough} makes them forward response bodies
+ * as raw bytes instead of parsing and re-serializing the JSON, {@code shareit-server.coalesce-gets} collapses
+ * identical concurrent GETs into one server call.
+ */
+@Component
+public class ServerTransportFactory {
+    private final ServerClientProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final WebClient.Builder webClientBuilder;
+    private final HttpComponentsClientHttpRequestFactory serverRequestFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ServerTransportFactory(ServerClientProperties properties,
+                                  RestTemplateBuilder restTemplateBuilder,
+                                  WebClient.Builder webClientBuilder,
+                                  HttpComponentsClientHttpRequestFactory serverRequestFactory,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.webClientBuilder = webClientBuilder;
+        this.serverRequestFactory = serverRequestFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ServerTransport create(String apiPrefix) {
+        ServerTransport transport = createTransport(properties.getUrl() + apiPrefix);
+        if (!properties.isCoalesceGets()) {
+            return transport;
+        }
+        return new CoalescingTransport(transport, meterRegistry.counter("gateway.requests.coalesced", "api", apiPrefix));
+    }
+
+    private ServerTransport createTransport(String baseUrl) {
+        if (properties.isReactive()) {
+            return new WebClientTransport(webClientBuilder.clone()
+                    .baseUrl(baseUrl)
+                    .build(), properties.isPassthrough());
+        }
+        return new RestTemplateTransport(restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> serverRequestFactory)
+                .build(), properties.isPassthrough());
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Non-blocking transport over Reactor Netty: no gateway thread waits while the server handles the request.
+ */
+public class WebClientTransport implements ServerTransport {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private final WebClient webClient;
+    private final Class<?> responseType;
+
+    public WebClientTransport(WebClient webClient, boolean passthrough) {
+        this.webClient = webClient;
+        this.responseType = passthrough ? byte[].class : Object.class;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                 HttpHeaders headers, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters == null ? Collections.emptyMap() : parameters)
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        return retrieve(body == null ? request : request.bodyValue(body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> stream(HttpMethod method, String path, HttpHeaders headers, InputStream body) {
+        // reading the servlet input stream blocks, so it must stay off the Netty event loop
+        Flux<DataBuffer> content = DataBufferUtils
+                .readInputStream(() -> body, DefaultDataBufferFactory.sharedInstance, STREAM_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        return retrieve(webClient.method(method)
+                .uri(path)
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .body(BodyInserters.fromDataBuffers(content)));
+    }
+
+    private Mono<ResponseEntity<Object>> retrieve(WebClient.RequestHeadersSpec<?> request) {
+        return request.retrieve()
+                .toEntity(responseType)
+                .map(WebClientTransport::toObjectEntity)
+                .onErrorResume(WebClientResponseException.class, e -> Mono.just(errorResponse(e)));
+    }
+
+    private static ResponseEntity<Object> toObjectEntity(ResponseEntity<?> response) {
+        Object body = response.getBody();
+        return ResponseEntity.status(response.getStatusCodeValue()).headers(response.getHeaders()).body(body);
+    }
+
+    private static ResponseEntity<Object> errorResponse(WebClientResponseException e) {
+        return ResponseEntity.status(e.getRawStatusCode())
+                .headers(e.getHeaders())
+                .body(e.getResponseBodyAsByteArray());
+    }
+}
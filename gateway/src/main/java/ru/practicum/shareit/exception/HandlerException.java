@@ -9,6 +9,10 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import java.util.stream.Collectors;
+
 @Slf4j
 @RestControllerAdvice
 public class HandlerException {
@@ -47,6 +51,17 @@ public class HandlerException {
                 .build(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ResponseError> constraintViolation(ConstraintViolationException e) {
+        String errorMessage = e.getConstraintViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+        log.error("Ошибка вадидации: " + errorMessage);
+        return new ResponseEntity<>(ResponseError.builder()
+                .error("Ошибка вадидации: " + errorMessage)
+                .build(), HttpStatus.BAD_REQUEST);
+    }
+
     private String buildErrorMessage(BindingResult bindingResult) {
         StringBuilder errorMessage = new StringBuilder();
         for (FieldError fieldError : bindingResult.getFieldErrors()) {
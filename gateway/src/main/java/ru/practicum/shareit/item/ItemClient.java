@@ -1,16 +1,19 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,31 +21,30 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transportFactory, ResponseCache responseCache) {
+        super(transportFactory.create(API_PREFIX), responseCache, ResponseCache.ITEMS, ResponseCache.REQUESTS);
     }
 
-    public ResponseEntity<Object> addItem(Long ownerId, ItemDTO itemDto) {
+    public Mono<ResponseEntity<Object>> addItem(Long ownerId, ItemDTO itemDto) {
         String url = "";
         return post(url, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long itemId, Long ownerId, ItemDTO itemDto) {
+    public Mono<ResponseEntity<Object>> importItems(Long ownerId, MediaType contentType, InputStream body) {
+        return postStream("/bulk", ownerId, contentType, body);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(Long itemId, Long ownerId, ItemDTO itemDto) {
         String url = "/" + itemId;
         return patch(url, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(Long itemId, Long userId) {
         String url = "/" + itemId;
-        return get(url, userId);
+        return cachedGet(ResponseCache.ITEMS, url, userId, null);
     }
 
-    public ResponseEntity<Object> getAllItemsByOwner(Long ownerId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItemsByOwner(Long ownerId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -50,16 +52,33 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItems(String text, LocalDateTime start, LocalDateTime end,
+                                                    Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String url = "/search" + "?text={text}&from={from}&size={size}";
+        if (start != null) {
+            parameters.put("start", start);
+            url += "&start={start}";
+        }
+        if (end != null) {
+            parameters.put("end", end);
+            url += "&end={end}";
+        }
+        return cachedGet(ResponseCache.ITEMS, url, null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
         Map<String, Object> parameters = Map.of(
-                "text", text,
                 "from", from,
-                "size", size
+                "to", to
         );
-        return get("/search" + "?text={text}&from={from}&size={size}", null, parameters);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentDTO commentDTO) {
+    public Mono<ResponseEntity<Object>> addComment(Long userId, Long itemId, CommentDTO commentDTO) {
         String url = "/" + itemId + "/comment";
         return post(url, userId, commentDTO);
     }
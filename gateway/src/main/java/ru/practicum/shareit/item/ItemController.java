@@ -1,16 +1,24 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
+@Validated
 @RestController
 @RequestMapping("/items")
 public class ItemController {
@@ -24,37 +32,54 @@ public class ItemController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> addItem(@RequestHeader("X-Sharer-User-Id") Long ownerId, @RequestBody @Valid ItemDTO itemDto) {
+    public Mono<ResponseEntity<Object>> addItem(@RequestHeader("X-Sharer-User-Id") Long ownerId, @RequestBody @Valid ItemDTO itemDto) {
         return itemClient.addItem(ownerId, itemDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) {
+        return itemClient.importItems(ownerId, contentType, body);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long ownerId, @RequestBody ItemDTO itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long ownerId, @RequestBody ItemDTO itemDto) {
         return itemClient.updateItem(itemId, ownerId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @PathVariable Long itemId) {
         return itemClient.getItemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+    public Mono<ResponseEntity<Object>> getAllItemsByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                      @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
                                                      @RequestParam(defaultValue = "10") @Positive Integer size) {
         return itemClient.getAllItemsByOwner(ownerId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                               @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
                                               @RequestParam(defaultValue = "10") @Positive Integer size) {
-        return itemClient.searchItems(text, from, size);
+        return itemClient.searchItems(text, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @PathVariable Long itemId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getItemAvailability(itemId, userId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @PathVariable Long itemId,
                                              @RequestBody @Valid CommentDTO commentDTO) {
         return itemClient.addComment(userId, itemId, commentDTO);
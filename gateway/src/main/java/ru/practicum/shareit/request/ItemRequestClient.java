@@ -1,13 +1,12 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,34 +16,29 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerTransportFactory transportFactory, ResponseCache responseCache) {
+        super(transportFactory.create(API_PREFIX), responseCache, ResponseCache.REQUESTS);
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemRequestDto itemRequestDto) {
         String url = "";
         return post(url, userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> findAllByUser(Long userId) {
+    public Mono<ResponseEntity<Object>> findAllByUser(Long userId) {
         String url = "";
         return get(url, userId);
     }
 
-    public ResponseEntity<Object> findAllByOtherUsers(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findAllByOtherUsers(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all" + "?from={from}&size={size}", userId, parameters);
+        return cachedGet(ResponseCache.REQUESTS, "/all" + "?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findById(Long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> findById(Long userId, Long requestId) {
         String url = "/" + requestId;
         return get(url, userId);
     }
@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -20,19 +21,19 @@ public class ItemRequestController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @RequestBody @Valid ItemRequestDto itemRequestDto) {
 
         return itemRequestClient.create(userId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> findAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.findAllByUser(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(
+    public Mono<ResponseEntity<Object>> getAllRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
             @RequestParam(defaultValue = "10") @Positive Integer size) {
@@ -40,7 +41,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getItemRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                      @PathVariable Long requestId) {
         return itemRequestClient.findById(userId, requestId);
     }
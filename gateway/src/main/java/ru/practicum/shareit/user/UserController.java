@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDTO;
 
 import javax.validation.Valid;
@@ -21,31 +22,31 @@ public class UserController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserDTO userDTO) {
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDTO userDTO) {
         return userClient.createUser(userDTO);
     }
 
     @GetMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long userId) {
         return userClient.getUserById(userId);
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return userClient.getAllUsers();
     }
 
     @PatchMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> patchUser(@PathVariable Long userId, @RequestBody UserDTO userDTO) {
+    public Mono<ResponseEntity<Object>> patchUser(@PathVariable Long userId, @RequestBody UserDTO userDTO) {
         return userClient.updateUser(userId, userDTO);
     }
 
     @DeleteMapping("/{userId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteUser(@PathVariable Long userId) {
-        userClient.deleteUser(userId);
+    public Mono<Void> deleteUser(@PathVariable Long userId) {
+        return userClient.deleteUser(userId);
     }
 }
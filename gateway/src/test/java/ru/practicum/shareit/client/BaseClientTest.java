@@ -0,0 +1,134 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BaseClientTest {
+    private static final String ETAG = "\"0a1b2c\"";
+
+    private final StubTransport server = new StubTransport();
+    private final BaseClient client = new BaseClient(server,
+            new ResponseCache(new ServerClientProperties(), new SimpleMeterRegistry()));
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testGet_WithStoredResponse_RevalidatesAndReusesBodyOnNotModified() {
+        server.respond(ResponseEntity.ok().eTag(ETAG).body("item"));
+        server.respond(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build());
+
+        ResponseEntity<Object> first = client.get("/1", 1L).block();
+        ResponseEntity<Object> second = client.get("/1", 1L).block();
+
+        assertNull(server.sentIfNoneMatch.get(0));
+        assertEquals(ETAG, server.sentIfNoneMatch.get(1));
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("item", second.getBody());
+    }
+
+    @Test
+    void testGet_WithChangedResponse_ReturnsAndStoresNewBody() {
+        server.respond(ResponseEntity.ok().eTag(ETAG).body("item"));
+        server.respond(ResponseEntity.ok().eTag("\"ffff\"").body("changed item"));
+        server.respond(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"ffff\"").build());
+
+        client.get("/1", 1L).block();
+        assertEquals("changed item", client.get("/1", 1L).block().getBody());
+        assertEquals("changed item", client.get("/1", 1L).block().getBody());
+
+        assertEquals("\"ffff\"", server.sentIfNoneMatch.get(2));
+    }
+
+    @Test
+    void testGet_WithoutStoredResponse_ForwardsClientIfNoneMatch() {
+        clientSends(ETAG);
+        server.respond(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build());
+
+        ResponseEntity<Object> response = client.get("/1", 1L).block();
+
+        assertEquals(ETAG, server.sentIfNoneMatch.get(0));
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    void testGet_WithClientTagMatchingStoredResponse_ReturnsNotModified() {
+        server.respond(ResponseEntity.ok().eTag(ETAG).body("item"));
+        server.respond(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build());
+        server.respond(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build());
+        client.get("/1", 1L).block();
+
+        clientSends("W/" + ETAG);
+        ResponseEntity<Object> weak = client.get("/1", 1L).block();
+        clientSends("*");
+        ResponseEntity<Object> any = client.get("/1", 1L).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, weak.getStatusCode());
+        assertEquals(ETAG, weak.getHeaders().getETag());
+        assertNull(weak.getBody());
+        assertEquals(HttpStatus.NOT_MODIFIED, any.getStatusCode());
+    }
+
+    @Test
+    void testGet_WithClientTagNotMatching_ReturnsBody() {
+        clientSends("\"ffff\"");
+        server.respond(ResponseEntity.ok().eTag(ETAG).body("item"));
+
+        ResponseEntity<Object> response = client.get("/1", 1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("item", response.getBody());
+    }
+
+    private static void clientSends(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static final class StubTransport implements ServerTransport {
+        private final Deque<ResponseEntity<Object>> responses = new ArrayDeque<>();
+        private final List<String> sentIfNoneMatch = new ArrayList<>();
+
+        void respond(ResponseEntity<Object> response) {
+            responses.add(response);
+        }
+
+        @Override
+        public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                     HttpHeaders headers, @Nullable Object body) {
+            return Mono.fromSupplier(() -> {
+                sentIfNoneMatch.add(headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+                return responses.remove();
+            });
+        }
+
+        @Override
+        public Mono<ResponseEntity<Object>> stream(HttpMethod method, String path, HttpHeaders headers, InputStream body) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CoalescingTransportTest {
+    private final StubTransport server = new StubTransport();
+    private final Counter coalesced = new SimpleMeterRegistry().counter("gateway.requests.coalesced");
+    private final CoalescingTransport transport = new CoalescingTransport(server, coalesced);
+
+    @Test
+    void testExchange_WithConcurrentIdenticalGets_CallsServerOnce() {
+        AtomicReference<ResponseEntity<Object>> first = new AtomicReference<>();
+        AtomicReference<ResponseEntity<Object>> second = new AtomicReference<>();
+        getItem(1L, Map.of("from", 0)).subscribe(first::set);
+        getItem(1L, Map.of("from", 0)).subscribe(second::set);
+
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+        server.pending.get(0).tryEmitValue(response);
+
+        assertEquals(1, server.pending.size());
+        assertSame(response, first.get());
+        assertSame(response, second.get());
+        assertEquals(1.0, coalesced.count());
+    }
+
+    @Test
+    void testExchange_AfterCompletion_CallsServerAgain() {
+        getItem(1L, null).subscribe();
+        server.pending.get(0).tryEmitValue(ResponseEntity.ok("v1"));
+
+        getItem(1L, null).subscribe();
+
+        assertEquals(2, server.pending.size());
+        assertEquals(0.0, coalesced.count());
+    }
+
+    @Test
+    void testExchange_WithDifferentParametersOrUser_CallsServerForEach() {
+        getItem(1L, Map.of("from", 0)).subscribe();
+        getItem(1L, Map.of("from", 10)).subscribe();
+        getItem(2L, Map.of("from", 0)).subscribe();
+
+        assertEquals(3, server.pending.size());
+    }
+
+    @Test
+    void testExchange_WithError_SharesErrorAndCallsServerAgainAfterwards() {
+        List<Throwable> errors = new ArrayList<>();
+        getItem(1L, null).subscribe(response -> { }, errors::add);
+        getItem(1L, null).subscribe(response -> { }, errors::add);
+
+        server.pending.get(0).tryEmitError(new IllegalStateException("connection reset"));
+
+        assertEquals(2, errors.size());
+        assertSame(errors.get(0), errors.get(1));
+        server.respondImmediately = true;
+        assertEquals("retried", getItem(1L, null).block().getBody());
+        assertEquals(2, server.pending.size());
+    }
+
+    @Test
+    void testExchange_WithWrite_IsNeverCoalesced() {
+        transport.exchange(HttpMethod.POST, "/items", null, headers(1L), "item").subscribe();
+        transport.exchange(HttpMethod.POST, "/items", null, headers(1L), "item").subscribe();
+
+        assertEquals(2, server.pending.size());
+        assertEquals(0.0, coalesced.count());
+    }
+
+    private Mono<ResponseEntity<Object>> getItem(Long userId, @Nullable Map<String, Object> parameters) {
+        return transport.exchange(HttpMethod.GET, "/items/1", parameters, headers(userId), null);
+    }
+
+    private static HttpHeaders headers(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+
+    private static final class StubTransport implements ServerTransport {
+        private final List<Sinks.One<ResponseEntity<Object>>> pending = new ArrayList<>();
+        private boolean respondImmediately;
+
+        @Override
+        public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                     HttpHeaders headers, @Nullable Object body) {
+            return Mono.defer(() -> {
+                Sinks.One<ResponseEntity<Object>> sink = Sinks.one();
+                pending.add(sink);
+                if (respondImmediately) {
+                    sink.tryEmitValue(ResponseEntity.ok("retried"));
+                }
+                return sink.asMono();
+            });
+        }
+
+        @Override
+        public Mono<ResponseEntity<Object>> stream(HttpMethod method, String path, HttpHeaders headers, InputStream body) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
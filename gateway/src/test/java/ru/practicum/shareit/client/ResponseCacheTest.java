@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCacheTest {
+    private final ResponseCache responseCache = new ResponseCache(new ServerClientProperties(), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testGet_WithSuccessfulResponse_LoadsOnce() {
+        assertEquals("v1", body(responseCache.get(ResponseCache.ITEMS, "/1", () -> load("v1"))));
+        assertEquals("v1", body(responseCache.get(ResponseCache.ITEMS, "/1", () -> load("v2"))));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_WithErrorResponse_DoesNotCache() {
+        responseCache.get(ResponseCache.ITEMS, "/1", () -> {
+            loads.incrementAndGet();
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        }).block();
+
+        assertEquals("v1", body(responseCache.get(ResponseCache.ITEMS, "/1", () -> load("v1"))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidate_DropsOnlyGivenRegions() {
+        responseCache.get(ResponseCache.ITEMS, "/1", () -> load("item")).block();
+        responseCache.get(ResponseCache.REQUESTS, "/1", () -> load("request")).block();
+
+        responseCache.invalidate(List.of(ResponseCache.ITEMS));
+
+        assertEquals("item v2", body(responseCache.get(ResponseCache.ITEMS, "/1", () -> load("item v2"))));
+        assertEquals("request", body(responseCache.get(ResponseCache.REQUESTS, "/1", () -> load("request v2"))));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGet_WithInvalidationDuringLoad_DoesNotCacheOldResponse() {
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+        Mono<ResponseEntity<Object>> inFlight = responseCache.get(ResponseCache.ITEMS, "/1", server::asMono);
+        inFlight.subscribe();
+
+        responseCache.invalidate(List.of(ResponseCache.ITEMS));
+        server.tryEmitValue(ResponseEntity.<Object>ok("old"));
+
+        assertEquals("new", body(responseCache.get(ResponseCache.ITEMS, "/1", () -> load("new"))));
+        assertEquals(1, loads.get());
+    }
+
+    private Mono<ResponseEntity<Object>> load(String body) {
+        loads.incrementAndGet();
+        return Mono.just(ResponseEntity.<Object>ok(body));
+    }
+
+    private static Object body(Mono<ResponseEntity<Object>> response) {
+        return response.block().getBody();
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeds users, requests, items, bookings and comments through the REST API, so the same run works against
+ * the gateway or the server on H2 as well as on PostgreSQL. All content is derived from the seed, only e-mails
+ * carry the start time of the run to stay unique across runs on one database.
+ */
+public class DataSeeder {
+    static final String[] WORDS = {"дрель", "отвертка", "пила", "шуруповерт", "лестница", "палатка", "велосипед",
+            "перфоратор", "лобзик", "рюкзак", "удочка", "каяк", "проектор", "гитара", "самокат"};
+    private static final String[] ADJECTIVES = {"простая", "аккумуляторная", "ударная", "складная", "походная",
+            "профессиональная", "компактная", "легкая"};
+    private static final int BOOKING_BATCH = 100;
+
+    private final ShareItApi api;
+    private final LoadTestOptions options;
+    private final Random random;
+    private final long runId = System.currentTimeMillis();
+
+    public DataSeeder(ShareItApi api, LoadTestOptions options) {
+        this.api = api;
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    public SeededData seed() {
+        SeededData data = new SeededData();
+        seedUsers(data);
+        List<Long> requestIds = seedRequests(data);
+        Map<Long, Long> ownerByItem = seedItems(data, requestIds);
+        seedBookings(data, ownerByItem);
+        seedComments(data, ownerByItem);
+        return data;
+    }
+
+    private void seedUsers(SeededData data) {
+        for (int i = 0; i < options.users(); i++) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("name", "Load user " + i);
+            user.put("email", "load-" + runId + "-" + i + "@shareit.test");
+            data.userIds.add(id(api.sendForObject("POST", "/users", null, user)));
+        }
+        // every other user offers items, everybody books
+        for (int i = 0; i < data.userIds.size(); i += 2) {
+            data.ownerIds.add(data.userIds.get(i));
+        }
+    }
+
+    private List<Long> seedRequests(SeededData data) {
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < options.requests(); i++) {
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("description", "Нужна " + pick(WORDS) + " на выходные #" + i);
+            requestIds.add(id(api.sendForObject("POST", "/requests", pick(data.userIds), request)));
+        }
+        return requestIds;
+    }
+
+    private Map<Long, Long> seedItems(SeededData data, List<Long> requestIds) {
+        Map<Long, Long> ownerByItem = new HashMap<>();
+        for (int i = 0; i < options.items(); i++) {
+            Long ownerId = pick(data.ownerIds);
+            String word = pick(WORDS);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", capitalize(word));
+            item.put("description", capitalize(word) + " " + pick(ADJECTIVES) + " #" + i);
+            boolean available = random.nextInt(10) != 0;
+            item.put("available", available);
+            if (!requestIds.isEmpty() && random.nextInt(10) == 0) {
+                item.put("requestId", pick(requestIds));
+            }
+            Long itemId = id(api.sendForObject("POST", "/items", ownerId, item));
+            ownerByItem.put(itemId, ownerId);
+            if (available) {
+                data.availableItemIds.add(itemId);
+                data.availableItemOwnerIds.add(ownerId);
+            }
+        }
+        return ownerByItem;
+    }
+
+    /**
+     * Bookings start a month ahead and follow each other per item, half of them get approved.
+     */
+    private void seedBookings(SeededData data, Map<Long, Long> ownerByItem) {
+        if (data.availableItemIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime base = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS);
+        Map<Long, LocalDateTime> nextStart = new HashMap<>();
+        Map<Long, List<Map<String, Object>>> byBooker = new LinkedHashMap<>();
+        for (int i = 0; i < options.bookings(); i++) {
+            int index = random.nextInt(data.availableItemIds.size());
+            Long itemId = data.availableItemIds.get(index);
+            Long bookerId = bookerOtherThan(data, data.availableItemOwnerIds.get(index));
+            LocalDateTime start = nextStart.getOrDefault(itemId, base).plusHours(random.nextInt(24));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+            nextStart.put(itemId, end);
+            byBooker.computeIfAbsent(bookerId, id -> new ArrayList<>()).add(booking(itemId, start, end));
+        }
+        for (Map.Entry<Long, List<Map<String, Object>>> entry : byBooker.entrySet()) {
+            List<Map<String, Object>> bookings = entry.getValue();
+            for (int from = 0; from < bookings.size(); from += BOOKING_BATCH) {
+                List<Map<String, Object>> batch = bookings.subList(from, Math.min(from + BOOKING_BATCH, bookings.size()));
+                for (Map<String, Object> created : api.sendForList("POST", "/bookings/bulk", entry.getKey(), batch)) {
+                    if (random.nextBoolean()) {
+                        approve(created, ownerByItem);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A comment needs a finished approved booking, so every comment gets a booking a few seconds long
+     * right before the seeded ones, and the comments are posted once they are all over.
+     */
+    private void seedComments(SeededData data, Map<Long, Long> ownerByItem) {
+        if (options.comments() == 0 || data.availableItemIds.isEmpty()) {
+            return;
+        }
+        // leaves time to create all the bookings before the first one starts
+        LocalDateTime base = LocalDateTime.now().plusSeconds(5 + options.comments() / 20);
+        List<long[]> bookedItems = new ArrayList<>();
+        for (int i = 0; i < options.comments(); i++) {
+            int index = i % data.availableItemIds.size();
+            Long itemId = data.availableItemIds.get(index);
+            Long bookerId = bookerOtherThan(data, ownerByItem.get(itemId));
+            LocalDateTime start = base.plusSeconds(2L * (i / data.availableItemIds.size()));
+            Map<String, Object> created = api.sendForObject("POST", "/bookings", bookerId,
+                    booking(itemId, start, start.plusSeconds(1)));
+            approve(created, ownerByItem);
+            bookedItems.add(new long[]{itemId, bookerId});
+        }
+        LocalDateTime lastEnd = base.plusSeconds(2L * (options.comments() / data.availableItemIds.size()) + 1);
+        sleepUntil(lastEnd.plusSeconds(1));
+        for (int i = 0; i < bookedItems.size(); i++) {
+            long[] booked = bookedItems.get(i);
+            Map<String, Object> comment = new LinkedHashMap<>();
+            comment.put("text", "Отличная вещь, спасибо #" + i);
+            api.sendForObject("POST", "/items/" + booked[0] + "/comment", booked[1], comment);
+        }
+    }
+
+    private void approve(Map<String, Object> booking, Map<Long, Long> ownerByItem) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> item = (Map<String, Object>) booking.get("item");
+        api.sendForObject("PATCH", "/bookings/" + id(booking) + "?approved=true", ownerByItem.get(id(item)), null);
+    }
+
+    static Map<String, Object> booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> booking = new LinkedHashMap<>();
+        booking.put("itemId", itemId);
+        booking.put("start", start);
+        booking.put("end", end);
+        return booking;
+    }
+
+    private Long bookerOtherThan(SeededData data, Long ownerId) {
+        Long bookerId = pick(data.userIds);
+        while (bookerId.equals(ownerId)) {
+            bookerId = pick(data.userIds);
+        }
+        return bookerId;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static Long id(Map<String, Object> entity) {
+        return ((Number) entity.get("id")).longValue();
+    }
+
+    private static void sleepUntil(LocalDateTime time) {
+        long millis = ChronoUnit.MILLIS.between(LocalDateTime.now(), time);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
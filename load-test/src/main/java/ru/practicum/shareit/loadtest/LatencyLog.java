@@ -0,0 +1,50 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencies and failures of one worker thread, merged into the report after the run,
+ * so workers never contend on shared counters.
+ */
+public class LatencyLog {
+    private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+    private final Map<Operation, Integer> failures = new EnumMap<>(Operation.class);
+
+    public void record(Operation operation, long nanos, boolean success) {
+        int count = counts.getOrDefault(operation, 0);
+        long[] values = latencies.computeIfAbsent(operation, op -> new long[1024]);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+            latencies.put(operation, values);
+        }
+        values[count] = nanos;
+        counts.put(operation, count + 1);
+        if (!success) {
+            failures.merge(operation, 1, Integer::sum);
+        }
+    }
+
+    public void addTo(LatencyLog total) {
+        for (Map.Entry<Operation, Integer> entry : counts.entrySet()) {
+            Operation operation = entry.getKey();
+            long[] values = latencies.get(operation);
+            for (int i = 0; i < entry.getValue(); i++) {
+                total.record(operation, values[i], true);
+            }
+        }
+        failures.forEach((operation, count) -> total.failures.merge(operation, count, Integer::sum));
+    }
+
+    public long[] sortedLatencies(Operation operation) {
+        long[] values = Arrays.copyOf(latencies.getOrDefault(operation, new long[0]), counts.getOrDefault(operation, 0));
+        Arrays.sort(values);
+        return values;
+    }
+
+    public int failures(Operation operation) {
+        return failures.getOrDefault(operation, 0);
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the weighted mix of operations from a fixed number of closed-loop workers. Every worker draws
+ * its operations from its own seeded random, a warmup phase is run first and not recorded.
+ */
+public class LoadDriver {
+    private final ShareItApi api;
+    private final SeededData data;
+    private final LoadTestOptions options;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    // every created booking gets its own hour far behind the seeded ones, so creations never overlap
+    private final LocalDateTime bookingBase = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+    private final AtomicLong bookingSlot = new AtomicLong();
+
+    public LoadDriver(ShareItApi api, SeededData data, LoadTestOptions options) {
+        this.api = api;
+        this.data = data;
+        this.options = options;
+        Map<Operation, Integer> mix = options.mix();
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public LatencyLog run() throws Exception {
+        long warmupEnd = System.nanoTime() + options.warmupSeconds() * 1_000_000_000L;
+        long runEnd = warmupEnd + options.durationSeconds() * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads());
+        try {
+            List<Future<LatencyLog>> workers = new ArrayList<>();
+            for (int i = 0; i < options.threads(); i++) {
+                Random random = new Random(options.seed() + i);
+                workers.add(executor.submit(() -> work(random, warmupEnd, runEnd)));
+            }
+            LatencyLog total = new LatencyLog();
+            for (Future<LatencyLog> worker : workers) {
+                worker.get().addTo(total);
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LatencyLog work(Random random, long warmupEnd, long runEnd) {
+        LatencyLog log = new LatencyLog();
+        long now = System.nanoTime();
+        while (now < runEnd) {
+            Operation operation = nextOperation(random);
+            long started = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, random) / 100 == 2;
+            } catch (RuntimeException e) {
+                success = false;
+            }
+            now = System.nanoTime();
+            if (started >= warmupEnd) {
+                log.record(operation, now - started, success);
+            }
+        }
+        return log;
+    }
+
+    private Operation nextOperation(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private int execute(Operation operation, Random random) {
+        switch (operation) {
+            case SEARCH:
+                String text = DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+                return api.send("GET", "/items/search?text=" + encode(text.substring(0, 4)) + "&from=0&size=20",
+                        pick(data.userIds, random), null);
+            case CREATE_BOOKING:
+                int index = random.nextInt(data.availableItemIds.size());
+                Long bookerId = pick(data.userIds, random);
+                while (bookerId.equals(data.availableItemOwnerIds.get(index))) {
+                    bookerId = pick(data.userIds, random);
+                }
+                LocalDateTime start = bookingBase.plusHours(bookingSlot.getAndIncrement());
+                return api.send("POST", "/bookings", bookerId,
+                        DataSeeder.booking(data.availableItemIds.get(index), start, start.plusMinutes(30)));
+            case BOOKINGS:
+                return api.send("GET", "/bookings?state=ALL&from=0&size=20", pick(data.userIds, random), null);
+            case OWNER_BOOKINGS:
+                return api.send("GET", "/bookings/owner?state=ALL&from=0&size=20", pick(data.ownerIds, random), null);
+            case REQUESTS:
+                return api.send("GET", "/requests/all?from=0&size=20", pick(data.userIds, random), null);
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private static Long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String encode(String text) {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+}
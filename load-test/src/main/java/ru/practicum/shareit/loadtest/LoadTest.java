@@ -0,0 +1,76 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds a dataset through the REST API, runs the operation mix against it and prints throughput
+ * and p50/p99 latency per endpoint. Point base-url at the gateway (8080) or straight at the server (9090),
+ * the database is whatever that server is configured with.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        ShareItApi api = new ShareItApi(options.baseUrl());
+
+        long seedStarted = System.nanoTime();
+        SeededData data = new DataSeeder(api, options).seed();
+        System.out.printf("Seeded %d users, %d items, %d bookings, %d comments, %d requests in %d s%n",
+                options.users(), options.items(), options.bookings(), options.comments(), options.requests(),
+                (System.nanoTime() - seedStarted) / 1_000_000_000L);
+
+        LatencyLog log = new LoadDriver(api, data, options).run();
+        List<Map<String, Object>> report = report(log, options.durationSeconds());
+        print(report);
+        if (!options.report().isEmpty()) {
+            File file = new File(options.report());
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+            System.out.println("Report written to " + file.getAbsolutePath());
+        }
+    }
+
+    private static List<Map<String, Object>> report(LatencyLog log, int durationSeconds) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            long[] latencies = log.sortedLatencies(operation);
+            if (latencies.length == 0) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", operation.getEndpoint());
+            row.put("requests", latencies.length);
+            row.put("failures", log.failures(operation));
+            row.put("throughputPerSecond", (double) latencies.length / durationSeconds);
+            row.put("p50Millis", percentile(latencies, 0.50));
+            row.put("p99Millis", percentile(latencies, 0.99));
+            row.put("maxMillis", latencies[latencies.length - 1] / 1_000_000.0);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+    }
+
+    private static void print(List<Map<String, Object>> report) {
+        System.out.printf("%-22s %10s %10s %12s %10s %10s %10s%n",
+                "endpoint", "requests", "failures", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Map<String, Object> row : report) {
+            System.out.printf("%-22s %10d %10d %12.1f %10.2f %10.2f %10.2f%n",
+                    row.get("endpoint"), row.get("requests"), row.get("failures"), row.get("throughputPerSecond"),
+                    row.get("p50Millis"), row.get("p99Millis"), row.get("maxMillis"));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options given as key=value arguments, a leading -- is allowed. Every option has a default,
+ * so a plain run seeds a small dataset against a gateway on localhost.
+ */
+public class LoadTestOptions {
+    private final Map<String, String> values = new HashMap<>();
+
+    public LoadTestOptions(String[] args) {
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            values.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+    }
+
+    public String baseUrl() {
+        return values.getOrDefault("base-url", "http://localhost:8080");
+    }
+
+    public long seed() {
+        return Long.parseLong(values.getOrDefault("seed", "42"));
+    }
+
+    public int users() {
+        return intValue("users", 50);
+    }
+
+    public int items() {
+        return intValue("items", 500);
+    }
+
+    public int bookings() {
+        return intValue("bookings", 2000);
+    }
+
+    public int comments() {
+        return intValue("comments", 50);
+    }
+
+    public int requests() {
+        return intValue("requests", 100);
+    }
+
+    public int threads() {
+        return intValue("threads", 8);
+    }
+
+    public int warmupSeconds() {
+        return intValue("warmup", 10);
+    }
+
+    public int durationSeconds() {
+        return intValue("duration", 60);
+    }
+
+    /**
+     * Path of the JSON report, none is written when empty.
+     */
+    public String report() {
+        return values.getOrDefault("report", "target/load-test-report.json");
+    }
+
+    /**
+     * Relative weights of the operations, e.g. mix=search:40,create-booking:10,bookings:20,owner-bookings:20,requests:10
+     */
+    public Map<Operation, Integer> mix() {
+        String mix = values.getOrDefault("mix", "search:40,create-booking:10,bookings:20,owner-bookings:20,requests:10");
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(Operation.byKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private int intValue(String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.loadtest;
+
+public enum Operation {
+    SEARCH("search", "GET /items/search"),
+    CREATE_BOOKING("create-booking", "POST /bookings"),
+    BOOKINGS("bookings", "GET /bookings"),
+    OWNER_BOOKINGS("owner-bookings", "GET /bookings/owner"),
+    REQUESTS("requests", "GET /requests/all");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public static Operation byKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + key);
+    }
+}
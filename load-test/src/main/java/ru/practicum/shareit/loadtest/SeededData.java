@@ -0,0 +1,17 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids created by {@link DataSeeder} that the load mix picks its requests from.
+ */
+public class SeededData {
+    final List<Long> userIds = new ArrayList<>();
+    final List<Long> ownerIds = new ArrayList<>();
+    /**
+     * Available items with their owners at the same index.
+     */
+    final List<Long> availableItemIds = new ArrayList<>();
+    final List<Long> availableItemOwnerIds = new ArrayList<>();
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON client of the ShareIt REST API.
+ */
+public class ShareItApi {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public ShareItApi(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Sends the request and returns the status code, the body is read and dropped.
+     */
+    public int send(String method, String path, Long userId, Object body) {
+        return exchange(method, path, userId, body, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public Map<String, Object> sendForObject(String method, String path, Long userId, Object body) {
+        return readBody(exchange(method, path, userId, body, HttpResponse.BodyHandlers.ofByteArray()),
+                new TypeReference<Map<String, Object>>() {
+                });
+    }
+
+    public List<Map<String, Object>> sendForList(String method, String path, Long userId, Object body) {
+        return readBody(exchange(method, path, userId, body, HttpResponse.BodyHandlers.ofByteArray()),
+                new TypeReference<List<Map<String, Object>>>() {
+                });
+    }
+
+    private <T> HttpResponse<T> exchange(String method, String path, Long userId, Object body,
+                                         HttpResponse.BodyHandler<T> bodyHandler) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (userId != null) {
+            request.header(USER_HEADER, userId.toString());
+        }
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(write(body)));
+        }
+        try {
+            return httpClient.send(request.build(), bodyHandler);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T readBody(HttpResponse<byte[]> response, TypeReference<T> type) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " answered " + response.statusCode() + ": " + new String(response.body()));
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
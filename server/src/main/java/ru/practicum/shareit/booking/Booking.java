@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
@@ -37,4 +38,8 @@ public class Booking {
 
     @Column(name = "end_time", nullable = false)
     private LocalDateTime end;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -2,9 +2,12 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDTO;
 import ru.practicum.shareit.booking.dto.BookingOutDTO;
+import ru.practicum.shareit.booking.dto.BookingSliceDTO;
+import ru.practicum.shareit.metrics.SqlBudget;
 
 import java.util.List;
 
@@ -12,6 +15,8 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -22,6 +27,14 @@ public class BookingController {
         return bookingService.createBooking(bookingDTO);
     }
 
+    @PostMapping("/bulk")
+    @SqlBudget(SqlBudget.UNLIMITED)
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BookingOutDTO> createBookings(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                              @RequestBody List<BookingDTO> bookingDTOs) {
+        return bookingService.createBookings(bookerId, bookingDTOs);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingOutDTO getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                     @PathVariable Long bookingId) {
@@ -29,19 +42,23 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingOutDTO> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                               @RequestParam State state,
-                                               @RequestParam Integer from,
-                                               @RequestParam Integer size) {
-        return bookingService.getUserBookings(bookerId, state, from, size);
+    @SqlBudget(15)
+    public ResponseEntity<List<BookingOutDTO>> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                               @RequestParam State state,
+                                                               @RequestParam Integer from,
+                                                               @RequestParam Integer size,
+                                                               @RequestParam(required = false) String cursor) {
+        return toResponse(bookingService.getUserBookings(bookerId, state, from, size, cursor));
     }
 
     @GetMapping("/owner")
-    public List<BookingOutDTO> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                @RequestParam State state,
-                                                @RequestParam Integer from,
-                                                @RequestParam Integer size) {
-        return bookingService.getOwnerBookings(ownerId, state, from, size);
+    @SqlBudget(15)
+    public ResponseEntity<List<BookingOutDTO>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                @RequestParam State state,
+                                                                @RequestParam Integer from,
+                                                                @RequestParam Integer size,
+                                                                @RequestParam(required = false) String cursor) {
+        return toResponse(bookingService.getOwnerBookings(ownerId, state, from, size, cursor));
     }
 
     @PatchMapping("/{bookingId}")
@@ -50,4 +67,12 @@ public class BookingController {
                                              @RequestParam boolean approved) {
         return bookingService.updateBookingStatus(bookerId, bookingId, approved);
     }
+
+    private ResponseEntity<List<BookingOutDTO>> toResponse(BookingSliceDTO slice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, slice.getNextCursor());
+        }
+        return response.body(slice.getBookings());
+    }
 }
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last booking of a slice in the (start desc, id desc) order, passed to clients as an opaque token.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException(String.format("Invalid cursor: %s", token));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,58 +1,138 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingDao extends JpaRepository<Booking, Long> {
+    String BY_BOOKER = "select b from Booking b where b.booker.id = :userId ";
+    String BY_OWNER = "select b from Booking b where b.item.owner.id = :userId ";
+    String AFTER_CURSOR = "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) " +
+            "order by b.start desc, b.id desc";
+
+    @EntityGraph(attributePaths = {"item", "booker"})
     Optional<Booking> findBookingByIdAndBooker_IdOrIdAndItem_Owner_Id(
             Long id, Long bookerId, Long bookingId, Long ownerId);
 
-    Page<Booking> findAllByBooker_Id(Long bookerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBooker_Id(Long bookerId, Pageable pageable);
 
-    Page<Booking> findAllByBooker_IdAndStartIsBeforeAndEndIsAfter(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBooker_IdAndStartIsBeforeAndEndIsAfter(
             Long bookerId, LocalDateTime now, LocalDateTime timeNow, Pageable pageable);
 
-    Page<Booking> findAllByBooker_IdAndEndIsBefore(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBooker_IdAndEndIsBefore(
             Long bookerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findAllByBooker_IdAndStartIsAfter(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBooker_IdAndStartIsAfter(
             Long bookerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findAllByBooker_IdAndStatus(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBooker_IdAndStatus(
             Long bookerId, Status status, Pageable pageable);
 
-    Page<Booking> findAllByItem_Owner_Id(Long ownerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_Owner_Id(Long ownerId, Pageable pageable);
 
-    Page<Booking> findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(
             Long ownerId, LocalDateTime now, LocalDateTime timeNow, Pageable pageable);
 
-    Page<Booking> findAllByItem_Owner_IdAndEndIsBefore(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_Owner_IdAndEndIsBefore(
             Long ownerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findAllByItem_Owner_IdAndStartIsAfter(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_Owner_IdAndStartIsAfter(
             Long ownerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findAllByItem_Owner_IdAndStatus(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_Owner_IdAndStatus(
             Long ownerId, Status status, Pageable pageable);
 
-    Page<Booking> findAllByItem_IdAndStatusIsNot(
-            Long itemId, Status status, Pageable pageable);
-
-    Page<Booking> findAllByItem_IdInAndStatusIsNot(
-            List<Long> itemsIds, Status status, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + AFTER_CURSOR)
+    List<Booking> findBookerSliceAfter(
+            Long userId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + "and b.start < :now and b.end > :now " + AFTER_CURSOR)
+    List<Booking> findBookerCurrentSliceAfter(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + "and b.end < :now " + AFTER_CURSOR)
+    List<Booking> findBookerPastSliceAfter(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + "and b.start > :now " + AFTER_CURSOR)
+    List<Booking> findBookerFutureSliceAfter(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + "and b.status = :status " + AFTER_CURSOR)
+    List<Booking> findBookerStatusSliceAfter(
+            Long userId, Status status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + AFTER_CURSOR)
+    List<Booking> findOwnerSliceAfter(
+            Long userId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + "and b.start < :now and b.end > :now " + AFTER_CURSOR)
+    List<Booking> findOwnerCurrentSliceAfter(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + "and b.end < :now " + AFTER_CURSOR)
+    List<Booking> findOwnerPastSliceAfter(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + "and b.start > :now " + AFTER_CURSOR)
+    List<Booking> findOwnerFutureSliceAfter(
+            Long userId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + "and b.status = :status " + AFTER_CURSOR)
+    List<Booking> findOwnerStatusSliceAfter(
+            Long userId, Status status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    /**
+     * Bookings the interval index keeps: the ones that have not ended yet and the latest ended one per item.
+     */
+    @Query("select b from Booking b where b.status in :statuses and (b.end > :now " +
+            "or b.start = (select max(p.start) from Booking p " +
+            "where p.item = b.item and p.status in :statuses and p.end <= :now))")
+    List<Booking> findIndexed(Collection<Status> statuses, LocalDateTime now);
+
+    /**
+     * Bookings of the item in the given statuses that intersect the period, ordered by start.
+     */
+    @Query("select b from Booking b where b.item.id = :itemId and b.status in :statuses " +
+            "and b.start < :end and b.end > :start order by b.start, b.id")
+    List<Booking> findIntersecting(Long itemId, Collection<Status> statuses, LocalDateTime start, LocalDateTime end);
 
     boolean existsByItem_IdAndBooker_IdAndStatusAndEndIsBefore(
             Long itemId, Long bookerId, Status status, LocalDateTime now);
 
+    /**
+     * Moves the booking to the new status only if nobody changed it since it was read,
+     * returns the number of updated rows.
+     */
     @Modifying
-    @Query(nativeQuery = true,
-            value = "UPDATE bookings SET status = :status WHERE id = :bookingId")
-    void approvedBooking(Long bookingId, String status);
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :bookingId and b.status = :expected and b.version = :version")
+    int updateStatus(Long bookingId, Status expected, Long version, Status status);
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingShortDTO;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDTO;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.practicum.shareit.booking.Status.APPROVED;
+import static ru.practicum.shareit.booking.Status.WAITING;
+
+/**
+ * In-memory index of active (WAITING and APPROVED) bookings per item, ordered by start.
+ * New bookings are checked against the index, but rows written before the check existed may overlap,
+ * so an overlap check walks back from the requested end only as far as the longest booking of the item can reach.
+ * The same ordering answers the last/next booking of an item for the item view, for which only
+ * the bookings that have not ended yet and the latest ended one are needed, so older ended bookings
+ * are dropped at warm-up and whenever the item gets a new booking.
+ * Availability calendars walk the same ordered bookings over the requested range. A range that starts
+ * in the past may cover pruned bookings, so it is answered from the database instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private final BookingDao bookingDao;
+    private final Map<Long, ItemIntervals> intervalsByItem = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        intervalsByItem.clear();
+        List<Booking> bookings = bookingDao.findIndexed(List.of(WAITING, APPROVED), LocalDateTime.now());
+        for (Booking booking : bookings) {
+            add(booking.getItem().getId(), booking.getId(), booking.getBooker().getId(),
+                    booking.getStart(), booking.getEnd());
+        }
+        log.info("Booking interval index warmed up with {} active bookings", bookings.size());
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        return intervals != null && intervals.overlaps(start, end);
+    }
+
+    public BookingShortDTO findLastBooking(Long itemId, LocalDateTime now) {
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        return intervals == null ? null : intervals.last(now);
+    }
+
+    public BookingShortDTO findNextBooking(Long itemId, LocalDateTime now) {
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        return intervals == null ? null : intervals.next(now);
+    }
+
+    /**
+     * Splits the hours between from and to into alternating free and busy slots. An hour is busy when
+     * an active booking covers any part of it.
+     */
+    public List<AvailabilitySlotDTO> availability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        long fromHour = floorHour(from);
+        long toHour = ceilHour(to);
+        if (fromHour >= toHour) {
+            return new ArrayList<>();
+        }
+        if (toTime(fromHour).isBefore(LocalDateTime.now())) {
+            List<Interval> booked = new ArrayList<>();
+            for (Booking booking : bookingDao.findIntersecting(itemId, List.of(WAITING, APPROVED),
+                    toTime(fromHour), toTime(toHour))) {
+                booked.add(new Interval(booking.getId(), null, booking.getStart(), booking.getEnd()));
+            }
+            return slots(booked, fromHour, toHour);
+        }
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        return intervals == null ? slots(List.of(), fromHour, toHour) : intervals.availability(fromHour, toHour);
+    }
+
+    public void add(Long itemId, Long bookingId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        intervalsByItem.computeIfAbsent(itemId, id -> new ItemIntervals()).add(bookingId, bookerId, start, end);
+    }
+
+    public void remove(Long itemId, Long bookingId) {
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        if (intervals != null) {
+            intervals.remove(bookingId);
+        }
+    }
+
+    /**
+     * Forgets what the database cascades away with a deleted user: the bookings on the user's items
+     * and the bookings the user made on other items.
+     */
+    public void removeUser(Long userId, Collection<Long> ownedItemIds) {
+        ownedItemIds.forEach(intervalsByItem::remove);
+        intervalsByItem.values().forEach(intervals -> intervals.removeBooker(userId));
+    }
+
+    private static final class ItemIntervals {
+        private final NavigableSet<Interval> byStart = new TreeSet<>();
+        private final Map<Long, Interval> byBookingId = new HashMap<>();
+        private Duration longest = Duration.ZERO;
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            // an interval starting this early would have to be longer than the longest one to reach start
+            LocalDateTime reach = reachBack(start);
+            for (Interval interval : byStart.headSet(new Interval(Long.MIN_VALUE, null, end, end), false)
+                    .descendingSet()) {
+                if (interval.end.isAfter(start)) {
+                    return true;
+                }
+                if (!interval.start.isAfter(reach)) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        synchronized BookingShortDTO last(LocalDateTime now) {
+            return toShortDTO(byStart.lower(new Interval(Long.MIN_VALUE, null, now, now)));
+        }
+
+        synchronized BookingShortDTO next(LocalDateTime now) {
+            return toShortDTO(byStart.higher(new Interval(Long.MAX_VALUE, null, now, now)));
+        }
+
+        synchronized List<AvailabilitySlotDTO> availability(long fromHour, long toHour) {
+            LocalDateTime reach = reachBack(toTime(fromHour));
+            LocalDateTime to = toTime(toHour);
+            return slots(byStart.subSet(new Interval(Long.MIN_VALUE, null, reach, reach), true,
+                    new Interval(Long.MIN_VALUE, null, to, to), false), fromHour, toHour);
+        }
+
+        synchronized void add(Long bookingId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+            remove(bookingId);
+            pruneEnded(LocalDateTime.now());
+            Interval interval = new Interval(bookingId, bookerId, start, end);
+            byStart.add(interval);
+            byBookingId.put(bookingId, interval);
+            Duration length = Duration.between(start, end);
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+
+        synchronized void remove(Long bookingId) {
+            Interval interval = byBookingId.remove(bookingId);
+            if (interval != null) {
+                byStart.remove(interval);
+            }
+        }
+
+        synchronized void removeBooker(Long bookerId) {
+            List<Interval> booked = new ArrayList<>();
+            for (Interval interval : byStart) {
+                if (bookerId.equals(interval.bookerId)) {
+                    booked.add(interval);
+                }
+            }
+            booked.forEach(interval -> remove(interval.bookingId));
+        }
+
+        /**
+         * Earliest start of a booking that can still cover the given time.
+         */
+        private LocalDateTime reachBack(LocalDateTime time) {
+            return time.isAfter(LocalDateTime.MIN.plus(longest)) ? time.minus(longest) : LocalDateTime.MIN;
+        }
+
+        /**
+         * Drops the ended bookings except the one that started last, which is still the last booking of the item.
+         */
+        private void pruneEnded(LocalDateTime now) {
+            List<Interval> ended = new ArrayList<>();
+            for (Interval interval : byStart.headSet(new Interval(Long.MIN_VALUE, null, now, now), false)) {
+                if (!interval.end.isAfter(now)) {
+                    ended.add(interval);
+                }
+            }
+            for (int i = 0; i < ended.size() - 1; i++) {
+                remove(ended.get(i).bookingId);
+            }
+        }
+
+        private static BookingShortDTO toShortDTO(Interval interval) {
+            return interval == null ? null : new BookingShortDTO(interval.bookingId, interval.bookerId);
+        }
+    }
+
+    /**
+     * Merges the busy hours of intervals ordered by start into slots, intervals ending before fromHour are skipped.
+     */
+    private static List<AvailabilitySlotDTO> slots(Iterable<Interval> byStart, long fromHour, long toHour) {
+        List<AvailabilitySlotDTO> slots = new ArrayList<>();
+        LocalDateTime from = toTime(fromHour);
+        long hour = fromHour;
+        boolean busy = false;
+        long busyFrom = fromHour;
+        long busyTo = fromHour;
+        for (Interval interval : byStart) {
+            if (!interval.end.isAfter(from)) {
+                continue;
+            }
+            long start = Math.max(floorHour(interval.start), fromHour);
+            long end = Math.min(ceilHour(interval.end), toHour);
+            if (busy && start <= busyTo) {
+                busyTo = Math.max(busyTo, end);
+                continue;
+            }
+            if (busy) {
+                slots.add(new AvailabilitySlotDTO(toTime(busyFrom), toTime(busyTo), false));
+                hour = busyTo;
+            }
+            if (hour < start) {
+                slots.add(new AvailabilitySlotDTO(toTime(hour), toTime(start), true));
+            }
+            busy = true;
+            busyFrom = start;
+            busyTo = end;
+        }
+        if (busy) {
+            slots.add(new AvailabilitySlotDTO(toTime(busyFrom), toTime(busyTo), false));
+            hour = busyTo;
+        }
+        if (hour < toHour) {
+            slots.add(new AvailabilitySlotDTO(toTime(hour), toTime(toHour), true));
+        }
+        return slots;
+    }
+
+    private static long floorHour(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+
+    private static long ceilHour(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        long hour = Math.floorDiv(seconds, 3600);
+        return hour * 3600 == seconds && time.getNano() == 0 ? hour : hour + 1;
+    }
+
+    private static LocalDateTime toTime(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    private static final class Interval implements Comparable<Interval> {
+        private final long bookingId;
+        private final Long bookerId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Interval(long bookingId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.bookerId = bookerId;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int compareTo(Interval other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : Long.compare(bookingId, other.bookingId);
+        }
+    }
+}
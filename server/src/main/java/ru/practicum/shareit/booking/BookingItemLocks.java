@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed on item id. A booking is checked against the interval index and added to it while
+ * the stripe of its item is held, so conflicting bookings of one item are serialized and bookings of items
+ * on other stripes proceed in parallel.
+ */
+@Component
+public class BookingItemLocks {
+    private final Lock[] stripes;
+    private final Counter contended;
+    private final Timer waitTimer;
+
+    @Autowired
+    public BookingItemLocks(@Value("${shareit.booking.lock-stripes}") int stripeCount, MeterRegistry meterRegistry) {
+        this.stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.contended = Counter.builder("booking.item.lock.contended")
+                .description("Item lock acquisitions that had to wait for another booking")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("booking.item.lock.wait")
+                .description("Time spent waiting for a contended item lock")
+                .register(meterRegistry);
+    }
+
+    public <T> T withLock(Long itemId, Supplier<T> action) {
+        Lock lock = stripes[stripe(itemId)];
+        acquire(lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Holds the stripes of all the items at once. Stripes are taken in index order, so two batches sharing items
+     * cannot deadlock.
+     */
+    public <T> T withLocks(Collection<Long> itemIds, Supplier<T> action) {
+        int[] indexes = stripes(itemIds);
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                acquire(stripes[index]);
+                locked++;
+            }
+            return action.get();
+        } finally {
+            unlock(indexes, locked);
+        }
+    }
+
+    /**
+     * Like {@link #withLocks}, but inside a transaction the stripes stay held until it completes, so changes
+     * the caller applies after commit are made before another booking of the items is checked.
+     */
+    public <T> T withLocksUntilCompletion(Collection<Long> itemIds, Supplier<T> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return withLocks(itemIds, action);
+        }
+        int[] indexes = stripes(itemIds);
+        for (int index : indexes) {
+            acquire(stripes[index]);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(indexes, indexes.length);
+            }
+        });
+        return action.get();
+    }
+
+    private int[] stripes(Collection<Long> itemIds) {
+        return itemIds.stream()
+                .mapToInt(this::stripe)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private void unlock(int[] indexes, int locked) {
+        for (int i = locked - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    private int stripe(Long itemId) {
+        return Math.floorMod(Long.hashCode(itemId * 0x9E3779B97F4A7C15L), stripes.length);
+    }
+
+    private void acquire(Lock lock) {
+        if (lock.tryLock()) {
+            return;
+        }
+        contended.increment();
+        long started = System.nanoTime();
+        lock.lock();
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+}
@@ -2,15 +2,18 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDTO;
 import ru.practicum.shareit.booking.dto.BookingOutDTO;
+import ru.practicum.shareit.booking.dto.BookingSliceDTO;
 
 import java.util.List;
 
 public interface BookingService {
     BookingOutDTO createBooking(BookingDTO bookingDTO);
 
-    List<BookingOutDTO> getUserBookings(Long userId, State state, Integer from, Integer size);
+    List<BookingOutDTO> createBookings(Long bookerId, List<BookingDTO> bookingDTOs);
 
-    List<BookingOutDTO> getOwnerBookings(Long ownerId, State state, Integer from, Integer size);
+    BookingSliceDTO getUserBookings(Long userId, State state, Integer from, Integer size, String cursor);
+
+    BookingSliceDTO getOwnerBookings(Long ownerId, State state, Integer from, Integer size, String cursor);
 
     BookingOutDTO updateBookingStatus(Long bookerId, Long bookingId, boolean approved);
 
@@ -1,25 +1,30 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingDTO;
 import ru.practicum.shareit.booking.dto.BookingOutDTO;
+import ru.practicum.shareit.booking.dto.BookingSliceDTO;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.item.dto.ItemOutDTO;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.dto.UserOutDTO;
+import ru.practicum.shareit.util.AfterCommit;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.Status.*;
 
@@ -27,12 +32,17 @@ import static ru.practicum.shareit.booking.Status.*;
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "start", "id");
+
     private final BookingDao bookingRepository;
     private final BookingMapper bookingMapper;
     private final UserDao userRepository;
     private final ItemDao itemRepository;
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingItemLocks bookingItemLocks;
+    private final UserExistenceCache userExistenceCache;
 
 
     @Override
@@ -57,13 +67,82 @@ public class BookingServiceImpl implements BookingService {
 
         bookingDTO.setStatus(WAITING);
 
-        BookingOutDTO bookingOutDTO = bookingMapper.toOutDTO(bookingRepository.save(bookingMapper.toModel(bookingDTO)));
+        BookingOutDTO bookingOutDTO = bookingItemLocks.withLock(itemId, () -> {
+            if (bookingIntervalIndex.overlaps(itemId, bookingDTO.getStart(), bookingDTO.getEnd())) {
+                throw new BadRequestException("Item is already booked for these dates");
+            }
+            BookingOutDTO saved = bookingMapper.toOutDTO(bookingRepository.save(bookingMapper.toModel(bookingDTO)));
+            bookingIntervalIndex.add(itemId, saved.getId(), bookerId, saved.getStart(), saved.getEnd());
+            return saved;
+        });
         bookingOutDTO.setBooker(bookerOutDTO);
         bookingOutDTO.setItem(itemOutDTO);
 
         return bookingOutDTO;
     }
 
+    @Override
+    @Transactional
+    public List<BookingOutDTO> createBookings(Long bookerId, List<BookingDTO> bookingDTOs) {
+        UserOutDTO bookerOutDTO = userMapper.toOutDTO(userRepository.findById(bookerId)
+                .orElseThrow(() -> new NotFoundException("User not found")));
+        Set<Long> itemIds = bookingDTOs.stream()
+                .map(BookingDTO::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        Map<Long, List<BookingDTO>> accepted = new HashMap<>();
+        for (BookingDTO bookingDTO : bookingDTOs) {
+            validDate(bookingDTO);
+            Item item = items.get(bookingDTO.getItemId());
+            if (item == null) {
+                throw new NotFoundException("Item not found");
+            }
+            if (!item.getAvailable()) {
+                throw new BadRequestException("Booking is not available");
+            }
+            if (item.getOwner().getId().equals(bookerId)) {
+                throw new NotFoundException("Booking already exists");
+            }
+            List<BookingDTO> sameItem = accepted.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+            if (sameItem.stream().anyMatch(other -> overlaps(other, bookingDTO))) {
+                throw new BadRequestException("Item is already booked for these dates");
+            }
+            sameItem.add(bookingDTO);
+            bookingDTO.setBookerId(bookerId);
+            bookingDTO.setStatus(WAITING);
+        }
+
+        List<Booking> bookings = bookingItemLocks.withLocksUntilCompletion(items.keySet(), () -> {
+            for (BookingDTO bookingDTO : bookingDTOs) {
+                if (bookingIntervalIndex.overlaps(bookingDTO.getItemId(), bookingDTO.getStart(), bookingDTO.getEnd())) {
+                    throw new BadRequestException("Item is already booked for these dates");
+                }
+            }
+            List<Booking> saved = bookingRepository.saveAllAndFlush(bookingDTOs.stream()
+                    .map(bookingMapper::toModel)
+                    .collect(Collectors.toList()));
+            AfterCommit.run(() -> {
+                for (Booking booking : saved) {
+                    bookingIntervalIndex.add(booking.getItem().getId(), booking.getId(), bookerId,
+                            booking.getStart(), booking.getEnd());
+                }
+            });
+            return saved;
+        });
+
+        List<BookingOutDTO> bookingOutDTOs = new ArrayList<>();
+        for (Booking booking : bookings) {
+            Long itemId = booking.getItem().getId();
+            BookingOutDTO bookingOutDTO = bookingMapper.toOutDTO(booking);
+            bookingOutDTO.setBooker(bookerOutDTO);
+            bookingOutDTO.setItem(itemMapper.toOutDTO(items.get(itemId)));
+            bookingOutDTOs.add(bookingOutDTO);
+        }
+        return bookingOutDTOs;
+    }
+
     @Override
     public BookingOutDTO getBooking(Long userId, Long bookingId) {
         return bookingMapper.toOutDTO(
@@ -72,98 +151,165 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingOutDTO> getUserBookings(Long userId, State state, Integer from, Integer size) {
-        if (!userRepository.existsById(userId)) {
+    public BookingSliceDTO getUserBookings(Long userId, State state, Integer from, Integer size, String cursor) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("User not found");
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Booking> bookings = cursor == null
+                ? findUserBookings(userId, state, now, PageRequest.of(from / size, size, NEWEST_FIRST))
+                : findUserBookingsAfter(userId, state, now, BookingCursor.decode(cursor), PageRequest.of(0, size));
+        return toSlice(bookings, size);
+    }
+
+    @Override
+    public BookingSliceDTO getOwnerBookings(Long ownerId, State state, Integer from, Integer size, String cursor) {
+        if (!userExistenceCache.exists(ownerId)) {
             throw new NotFoundException("User not found");
         }
         LocalDateTime now = LocalDateTime.now();
-        Sort newestFirst = Sort.by(Sort.Direction.DESC, "start");
-        Pageable pageable = PageRequest.of(from / size, size, newestFirst);
 
-        Page<Booking> bookings;
+        List<Booking> bookings = cursor == null
+                ? findOwnerBookings(ownerId, state, now, PageRequest.of(from / size, size, NEWEST_FIRST))
+                : findOwnerBookingsAfter(ownerId, state, now, BookingCursor.decode(cursor), PageRequest.of(0, size));
+        return toSlice(bookings, size);
+    }
+
+    @Override
+    @Transactional
+    public BookingOutDTO updateBookingStatus(Long bookerId, Long bookingId, boolean approved) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking not found"));
+        BookingOutDTO bookingOutDTO = bookingMapper.toOutDTO(booking);
+        Long itemId = bookingOutDTO.getItem().getId();
+
+        if (bookingOutDTO.getStatus() == APPROVED) {
+            throw new BadRequestException("Item already booked.");
+        }
+
+        if (!itemRepository.existsItemByIdAndOwner_Id(itemId, bookerId)) {
+            throw new NotFoundException("Item not found");
+        }
+
+        Status status = approved ? APPROVED : REJECTED;
+        bookingItemLocks.withLocksUntilCompletion(List.of(itemId), () -> {
+            if (approved && bookingOutDTO.getStatus() == REJECTED
+                    && bookingIntervalIndex.overlaps(itemId, bookingOutDTO.getStart(), bookingOutDTO.getEnd())) {
+                throw new BadRequestException("Item is already booked for these dates");
+            }
+            if (bookingRepository.updateStatus(bookingId, booking.getStatus(), booking.getVersion(), status) == 0) {
+                throw new BadRequestException("Booking status has already been changed.");
+            }
+            AfterCommit.run(() -> {
+                if (approved) {
+                    bookingIntervalIndex.add(itemId, bookingId, bookingOutDTO.getBooker().getId(),
+                            bookingOutDTO.getStart(), bookingOutDTO.getEnd());
+                } else {
+                    bookingIntervalIndex.remove(itemId, bookingId);
+                }
+            });
+            return status;
+        });
+        bookingOutDTO.setStatus(status);
+
+        return bookingOutDTO;
+    }
+
+    private List<Booking> findUserBookings(Long userId, State state, LocalDateTime now, Pageable pageable) {
         switch (state) {
             case ALL:
-                bookings = bookingRepository.findAllByBooker_Id(userId, pageable);
-                break;
+                return bookingRepository.findAllByBooker_Id(userId, pageable);
             case CURRENT:
-                bookings = bookingRepository.findAllByBooker_IdAndStartIsBeforeAndEndIsAfter(userId, now, now, pageable);
-                break;
+                return bookingRepository.findAllByBooker_IdAndStartIsBeforeAndEndIsAfter(userId, now, now, pageable);
             case PAST:
-                bookings = bookingRepository.findAllByBooker_IdAndEndIsBefore(userId, now, pageable);
-                break;
+                return bookingRepository.findAllByBooker_IdAndEndIsBefore(userId, now, pageable);
             case FUTURE:
-                bookings = bookingRepository.findAllByBooker_IdAndStartIsAfter(userId, now, pageable);
-                break;
+                return bookingRepository.findAllByBooker_IdAndStartIsAfter(userId, now, pageable);
             case WAITING:
-                bookings = bookingRepository.findAllByBooker_IdAndStatus(userId, WAITING, pageable);
-                break;
+                return bookingRepository.findAllByBooker_IdAndStatus(userId, WAITING, pageable);
             case REJECTED:
-                bookings = bookingRepository.findAllByBooker_IdAndStatus(userId, REJECTED, pageable);
-                break;
+                return bookingRepository.findAllByBooker_IdAndStatus(userId, REJECTED, pageable);
             default:
                 throw new BadRequestException(String.format("Unknown state: %s", state));
         }
-        return bookingMapper.toListOutDTO(bookings.getContent());
     }
 
-    @Override
-    public List<BookingOutDTO> getOwnerBookings(Long ownerId, State state, Integer from, Integer size) {
-        if (!userRepository.existsById(ownerId)) {
-            throw new NotFoundException("User not found");
-        }
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(from / size, size, Sort.Direction.DESC, "start");
-
-        Page<Booking> bookings;
+    private List<Booking> findUserBookingsAfter(Long userId, State state, LocalDateTime now,
+                                                BookingCursor cursor, Pageable pageable) {
+        LocalDateTime start = cursor.getStart();
+        Long id = cursor.getId();
         switch (state) {
             case ALL:
-                bookings = bookingRepository.findAllByItem_Owner_Id(ownerId, pageable);
-                break;
+                return bookingRepository.findBookerSliceAfter(userId, start, id, pageable);
             case CURRENT:
-                bookings = bookingRepository.findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(ownerId, now, now, pageable);
-                break;
+                return bookingRepository.findBookerCurrentSliceAfter(userId, now, start, id, pageable);
             case PAST:
-                bookings = bookingRepository.findAllByItem_Owner_IdAndEndIsBefore(ownerId, now, pageable);
-                break;
+                return bookingRepository.findBookerPastSliceAfter(userId, now, start, id, pageable);
             case FUTURE:
-                bookings = bookingRepository.findAllByItem_Owner_IdAndStartIsAfter(ownerId, now, pageable);
-                break;
+                return bookingRepository.findBookerFutureSliceAfter(userId, now, start, id, pageable);
             case WAITING:
-                bookings = bookingRepository.findAllByItem_Owner_IdAndStatus(ownerId, WAITING, pageable);
-                break;
+                return bookingRepository.findBookerStatusSliceAfter(userId, WAITING, start, id, pageable);
             case REJECTED:
-                bookings = bookingRepository.findAllByItem_Owner_IdAndStatus(ownerId, REJECTED, pageable);
-                break;
+                return bookingRepository.findBookerStatusSliceAfter(userId, REJECTED, start, id, pageable);
             default:
                 throw new BadRequestException(String.format("Unknown state: %s", state));
         }
-        return bookingMapper.toListOutDTO(bookings.getContent());
     }
 
-    @Override
-    @Transactional
-    public BookingOutDTO updateBookingStatus(Long bookerId, Long bookingId, boolean approved) {
-        BookingOutDTO bookingOutDTO = bookingMapper.toOutDTO(
-                bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException("Booking not found")));
-        Long itemId = bookingOutDTO.getItem().getId();
-
-        if (bookingOutDTO.getStatus() == APPROVED) {
-            throw new BadRequestException("Item already booked.");
+    private List<Booking> findOwnerBookings(Long ownerId, State state, LocalDateTime now, Pageable pageable) {
+        switch (state) {
+            case ALL:
+                return bookingRepository.findAllByItem_Owner_Id(ownerId, pageable);
+            case CURRENT:
+                return bookingRepository.findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(ownerId, now, now, pageable);
+            case PAST:
+                return bookingRepository.findAllByItem_Owner_IdAndEndIsBefore(ownerId, now, pageable);
+            case FUTURE:
+                return bookingRepository.findAllByItem_Owner_IdAndStartIsAfter(ownerId, now, pageable);
+            case WAITING:
+                return bookingRepository.findAllByItem_Owner_IdAndStatus(ownerId, WAITING, pageable);
+            case REJECTED:
+                return bookingRepository.findAllByItem_Owner_IdAndStatus(ownerId, REJECTED, pageable);
+            default:
+                throw new BadRequestException(String.format("Unknown state: %s", state));
         }
+    }
 
-        if (!itemRepository.existsItemByIdAndOwner_Id(itemId, bookerId)) {
-            throw new NotFoundException("Item not found");
+    private List<Booking> findOwnerBookingsAfter(Long ownerId, State state, LocalDateTime now,
+                                                 BookingCursor cursor, Pageable pageable) {
+        LocalDateTime start = cursor.getStart();
+        Long id = cursor.getId();
+        switch (state) {
+            case ALL:
+                return bookingRepository.findOwnerSliceAfter(ownerId, start, id, pageable);
+            case CURRENT:
+                return bookingRepository.findOwnerCurrentSliceAfter(ownerId, now, start, id, pageable);
+            case PAST:
+                return bookingRepository.findOwnerPastSliceAfter(ownerId, now, start, id, pageable);
+            case FUTURE:
+                return bookingRepository.findOwnerFutureSliceAfter(ownerId, now, start, id, pageable);
+            case WAITING:
+                return bookingRepository.findOwnerStatusSliceAfter(ownerId, WAITING, start, id, pageable);
+            case REJECTED:
+                return bookingRepository.findOwnerStatusSliceAfter(ownerId, REJECTED, start, id, pageable);
+            default:
+                throw new BadRequestException(String.format("Unknown state: %s", state));
         }
+    }
 
-        if (approved) {
-            bookingRepository.approvedBooking(bookingId, APPROVED.toString());
-            bookingOutDTO.setStatus(APPROVED);
-        } else {
-            bookingRepository.approvedBooking(bookingId, REJECTED.toString());
-            bookingOutDTO.setStatus(REJECTED);
-        }
+    private BookingSliceDTO toSlice(List<Booking> bookings, Integer size) {
+        String nextCursor = bookings.size() < size
+                ? null
+                : BookingCursor.of(bookings.get(bookings.size() - 1)).encode();
+        return BookingSliceDTO.builder()
+                .bookings(bookingMapper.toListOutDTO(bookings))
+                .nextCursor(nextCursor)
+                .build();
+    }
 
-        return bookingOutDTO;
+    private static boolean overlaps(BookingDTO first, BookingDTO second) {
+        return first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd());
     }
 
     private void validDate(BookingDTO bookingDTO) {
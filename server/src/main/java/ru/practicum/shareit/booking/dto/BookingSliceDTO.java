@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+public class BookingSliceDTO {
+    private List<BookingOutDTO> bookings;
+
+    private String nextCursor;
+}
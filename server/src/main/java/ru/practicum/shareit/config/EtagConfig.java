@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Strong ETags for the polled item, booking and request reads. The tag is a hash of the response body,
+ * and a matching If-None-Match is answered with 304 and no body.
+ */
+@Configuration
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*", "/bookings/*", "/requests/*");
+        return registration;
+    }
+}
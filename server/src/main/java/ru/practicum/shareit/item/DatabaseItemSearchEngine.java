@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Search that stays inside the database so every server node sees the same results.
+ * On PostgreSQL it uses the pg_trgm and tsvector indexes from the V3__item_search migration and orders by relevance,
+ * on other databases it falls back to the LIKE query.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database")
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+    private final ItemDao itemDao;
+    private final boolean postgres;
+
+    @Autowired
+    public DatabaseItemSearchEngine(ItemDao itemDao, @Value("${spring.datasource.url}") String datasourceUrl) {
+        this.itemDao = itemDao;
+        this.postgres = DatabaseDriver.fromJdbcUrl(datasourceUrl) == DatabaseDriver.POSTGRESQL;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        if (postgres) {
+            return itemDao.searchRanked(text, pageable);
+        }
+        return itemDao.search(text, pageable).getContent();
+    }
+
+    @Override
+    public List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        if (postgres) {
+            return itemDao.searchFreeRanked(text, start, end, pageable);
+        }
+        return itemDao.searchFree(text, start, end, pageable);
+    }
+
+    @Override
+    public void index(Item item) {
+        // search_vector is a generated column, the database keeps it and the indexes up to date
+    }
+
+    @Override
+    public void remove(Collection<Long> itemIds) {
+        // deleted rows leave the indexes together with the items
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted trigram index over case-folded item names and descriptions.
+ * A query is answered by intersecting the posting lists of its trigrams and checking the few remaining
+ * candidates with a plain substring match, which keeps the semantics of the former LIKE query.
+ * Free periods are checked against the booking interval index, which no longer holds most ended bookings,
+ * so a period that starts in the past is searched in the database instead, in the same id order.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final ItemDao itemDao;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void warmUp() {
+        List<Item> allItems = itemDao.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+            allItems.forEach(this::doIndex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index warmed up with {} items", allItems.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return load(searchIds(text, pageable));
+    }
+
+    @Override
+    public List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        if (start.isBefore(LocalDateTime.now())) {
+            return itemDao.searchFree(text, start, end,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), BY_ID));
+        }
+        return load(searchIds(text, id -> !bookingIntervalIndex.overlaps(id, start, end), pageable));
+    }
+
+    List<Long> searchIds(String text, Pageable pageable) {
+        return searchIds(text, id -> true, pageable);
+    }
+
+    List<Long> searchIds(String text, LongPredicate filter, Pageable pageable) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .filter(id -> items.get(id).matches(query))
+                    .filter(filter::test)
+                    .sorted()
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Item> load(List<Long> itemIds) {
+        Map<Long, Item> found = itemDao.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            doIndex(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> itemIds) {
+        lock.writeLock().lock();
+        try {
+            itemIds.forEach(this::doRemove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return items.keySet();
+        }
+        List<Set<Long>> postingLists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            postingLists.add(ids);
+        }
+        postingLists.sort(Comparator.comparingInt(Set::size));
+        return postingLists.get(0).stream()
+                .filter(id -> postingLists.stream().allMatch(ids -> ids.contains(id)))
+                .collect(Collectors.toList());
+    }
+
+    private void doIndex(Item item) {
+        Long id = item.getId();
+        doRemove(id);
+        IndexedItem indexed = new IndexedItem(normalize(item.getName()), normalize(item.getDescription()),
+                Boolean.TRUE.equals(item.getAvailable()));
+        items.put(id, indexed);
+        for (String gram : indexed.grams()) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void doRemove(Long id) {
+        IndexedItem previous = items.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : previous.grams()) {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class IndexedItem {
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        IndexedItem(String name, String description, boolean available) {
+            this.name = name;
+            this.description = description;
+            this.available = available;
+        }
+
+        boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = InMemoryItemSearchEngine.grams(name);
+            grams.addAll(InMemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+    }
+}
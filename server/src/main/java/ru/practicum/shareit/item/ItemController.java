@@ -1,14 +1,23 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.CommentOutDTO;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
 import ru.practicum.shareit.item.dto.ItemOutDTO;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.SqlBudget;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,10 +25,12 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ItemImportService itemImportService) {
         this.itemService = itemService;
+        this.itemImportService = itemImportService;
     }
 
     @PostMapping
@@ -28,6 +39,14 @@ public class ItemController {
         return itemService.addItem(ownerId, itemDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    @SqlBudget(SqlBudget.UNLIMITED)
+    public ItemImportReportDTO importItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                           InputStream body) {
+        return itemImportService.importItems(ownerId, contentType, body);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemOutDTO updateItem(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long ownerId, @RequestBody ItemDTO itemDto) {
         return itemService.updateItem(itemId, ownerId, itemDto);
@@ -40,6 +59,7 @@ public class ItemController {
     }
 
     @GetMapping
+    @SqlBudget(15)
     public List<ItemOutDTO> getAllItemsByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                @RequestParam Integer from,
                                                @RequestParam Integer size) {
@@ -48,9 +68,18 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemOutDTO> searchItems(@RequestParam String text,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                         @RequestParam Integer from,
                                         @RequestParam Integer size) {
-        return itemService.searchItems(text, from, size);
+        return itemService.searchItems(text, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDTO getItemAvailability(@PathVariable Long itemId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
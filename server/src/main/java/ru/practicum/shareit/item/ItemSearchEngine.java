@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemSearchEngine {
+    /**
+     * Returns available items whose name or description contains the text, ignoring case.
+     */
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Returns the items search would return that have no active booking intersecting the period from start to end.
+     */
+    List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    void index(Item item);
+
+    /**
+     * Forgets items deleted from the database, e.g. by the cascade of a user delete.
+     */
+    void remove(Collection<Long> itemIds);
+}
@@ -1,14 +1,22 @@
 package ru.practicum.shareit.item.dao;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentDao extends JpaRepository<Comment, Long> {
     List<Comment> findAllByItem_IdOrderByCreatedDesc(Long itemId);
 
-    Page<Comment> findAllByItem_IdInOrderByCreatedDesc(List<Long> itemIds, Pageable pageable);
+    @Query(nativeQuery = true,
+            value = "SELECT ranked.id FROM (" +
+                    "SELECT c.id, ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC) AS rn " +
+                    "FROM comments c WHERE c.item_id IN (:itemIds)) ranked " +
+                    "WHERE ranked.rn <= :limit")
+    List<Number> findLatestIdsByItemIds(Collection<Long> itemIds, int limit);
+
+    @Query("select c from Comment c join fetch c.author where c.id in ?1 order by c.created desc")
+    List<Comment> findAllWithAuthorByIdIn(Collection<Long> ids);
 }
@@ -6,16 +6,50 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemDao extends JpaRepository<Item, Long> {
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%'))" +
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
             "and i.available = true")
     Page<Item> search(String text, Pageable pageable);
 
-    List<Item> findAllByOwnerIdOrderById(Long ownerId);
+    @Query(nativeQuery = true,
+            value = "SELECT i.* FROM items i " +
+                    "WHERE i.available = true " +
+                    "AND (i.name ILIKE CONCAT('%', :text, '%') OR i.description ILIKE CONCAT('%', :text, '%')) " +
+                    "ORDER BY ts_rank(i.search_vector, plainto_tsquery('simple', :text)) DESC, " +
+                    "GREATEST(similarity(i.name, :text), similarity(i.description, :text)) DESC, i.id")
+    List<Item> searchRanked(String text, Pageable pageable);
+
+    /**
+     * Same as search, but skips items with a WAITING or APPROVED booking intersecting the period.
+     */
+    @Query("select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "and i.available = true " +
+            "and not exists (select b.id from Booking b where b.item = i " +
+            "and b.status in (ru.practicum.shareit.booking.Status.WAITING, ru.practicum.shareit.booking.Status.APPROVED) " +
+            "and b.start < :end and b.end > :start)")
+    List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Query(nativeQuery = true,
+            value = "SELECT i.* FROM items i " +
+                    "WHERE i.available = true " +
+                    "AND (i.name ILIKE CONCAT('%', :text, '%') OR i.description ILIKE CONCAT('%', :text, '%')) " +
+                    "AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id " +
+                    "AND b.status IN ('WAITING', 'APPROVED') AND b.start_time < :end AND b.end_time > :start) " +
+                    "ORDER BY ts_rank(i.search_vector, plainto_tsquery('simple', :text)) DESC, " +
+                    "GREATEST(similarity(i.name, :text), similarity(i.description, :text)) DESC, i.id")
+    List<Item> searchFreeRanked(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    List<Item> findAllByOwnerIdOrderById(Long ownerId, Pageable pageable);
+
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
 
     boolean existsItemByIdAndOwner_Id(Long itemId, Long ownerId);
 
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AvailabilitySlotDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private boolean free;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+public class ItemAvailabilityDTO {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<AvailabilitySlotDTO> slots;
+}
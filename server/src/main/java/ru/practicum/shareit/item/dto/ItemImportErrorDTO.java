@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ItemImportErrorDTO {
+    private long row;
+    private String error;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+public class ItemImportReportDTO {
+    private int imported;
+    private List<ItemImportErrorDTO> errors;
+}
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDTO;
+import ru.practicum.shareit.item.dto.ItemImportErrorDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
+import ru.practicum.shareit.request.dao.ItemRequestDao;
+import ru.practicum.shareit.user.UserExistenceCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a JSON array or a CSV file with a header row one item at a time and saves the items in batches,
+ * so an import of any size never holds more than one batch in memory.
+ * Invalid rows are reported by their position and skipped, the rest of the file is still imported.
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    // column sizes of the items table, a longer value would make the database reject the whole batch
+    private static final int MAX_NAME_LENGTH = 50;
+    private static final int MAX_DESCRIPTION_LENGTH = 200;
+
+    private final ItemService itemService;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemRequestDao itemRequestDao;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+
+    @Autowired
+    public ItemImportService(ItemService itemService,
+                             UserExistenceCache userExistenceCache,
+                             ItemRequestDao itemRequestDao,
+                             ObjectMapper objectMapper,
+                             @Value("${shareit.items.import.batch-size}") int batchSize) {
+        this.itemService = itemService;
+        this.userExistenceCache = userExistenceCache;
+        this.itemRequestDao = itemRequestDao;
+        this.jsonReader = objectMapper.readerFor(ItemDTO.class);
+        CsvMapper csvMapper = new CsvMapper();
+        csvMapper.findAndRegisterModules();
+        csvMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        csvMapper.enable(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        this.csvReader = csvMapper.readerFor(ItemDTO.class).with(CsvSchema.emptySchema().withHeader());
+        this.batchSize = batchSize;
+    }
+
+    public ItemImportReportDTO importItems(Long ownerId, MediaType contentType, InputStream body) {
+        if (!userExistenceCache.exists(ownerId)) {
+            throw new NotFoundException("User not found");
+        }
+        ObjectReader reader = TEXT_CSV.isCompatibleWith(contentType) ? csvReader : jsonReader;
+        Batch batch = new Batch(ownerId);
+        long row = 0;
+
+        try (MappingIterator<ItemDTO> rows = reader.readValues(body)) {
+            while (rows.hasNextValue()) {
+                row++;
+                ItemDTO itemDto;
+                try {
+                    itemDto = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    batch.reject(row, e.getOriginalMessage());
+                    continue;
+                }
+                String error = validate(itemDto, batch.knownRequests);
+                if (error != null) {
+                    batch.reject(row, error);
+                    continue;
+                }
+                batch.add(row, itemDto);
+            }
+        } catch (JsonProcessingException e) {
+            batch.reject(row + 1, "Malformed input, import stopped: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            batch.reject(row + 1, "Failed to read input, import stopped: " + e.getMessage());
+        }
+        batch.flush();
+
+        log.info("Imported {} items for user {}, {} rows rejected", batch.imported, ownerId, batch.errors.size());
+        return ItemImportReportDTO.builder()
+                .imported(batch.imported)
+                .errors(batch.errors)
+                .build();
+    }
+
+    private String validate(ItemDTO itemDto, Map<Long, Boolean> knownRequests) {
+        if (itemDto == null) {
+            return "Empty row";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Имя не может быть пустым";
+        }
+        if (length(itemDto.getName()) > MAX_NAME_LENGTH) {
+            return "Имя не может быть длиннее " + MAX_NAME_LENGTH + " символов";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание не может быть пустым";
+        }
+        if (length(itemDto.getDescription()) > MAX_DESCRIPTION_LENGTH) {
+            return "Описание не может быть длиннее " + MAX_DESCRIPTION_LENGTH + " символов";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Поле available не может быть null";
+        }
+        Long requestId = itemDto.getRequestId();
+        if (requestId != null && !knownRequests.computeIfAbsent(requestId, itemRequestDao::existsById)) {
+            return "Request not found";
+        }
+        return null;
+    }
+
+    private static int length(String text) {
+        return text.codePointCount(0, text.length());
+    }
+
+    private final class Batch {
+        private final Long ownerId;
+        private final Map<Long, Boolean> knownRequests = new HashMap<>();
+        private final List<ItemImportErrorDTO> errors = new ArrayList<>();
+        private List<ItemDTO> items = new ArrayList<>();
+        private List<Long> rows = new ArrayList<>();
+        private int imported;
+
+        Batch(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        void add(long row, ItemDTO itemDto) {
+            itemDto.setId(null);
+            items.add(itemDto);
+            rows.add(row);
+            if (items.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String error) {
+            errors.add(new ItemImportErrorDTO(row, error));
+        }
+
+        void flush() {
+            if (items.isEmpty()) {
+                return;
+            }
+            try {
+                imported += itemService.addItems(ownerId, items).size();
+            } catch (DataAccessException e) {
+                log.warn("Item import batch for user {} rejected: {}", ownerId, e.getMostSpecificCause().getMessage());
+                rows.forEach(row -> reject(row, "Batch rejected by the database"));
+            }
+            items = new ArrayList<>();
+            rows = new ArrayList<>();
+        }
+    }
+}
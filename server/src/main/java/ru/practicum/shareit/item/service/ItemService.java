@@ -2,21 +2,31 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.CommentOutDTO;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.dto.ItemOutDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemOutDTO addItem(Long ownerId, ItemDTO itemDto);
 
+    List<ItemOutDTO> addItems(Long ownerId, List<ItemDTO> itemDtos);
+
     ItemOutDTO updateItem(Long itemId, Long ownerId, ItemDTO itemDto);
 
     ItemOutDTO getItemById(Long itemId, Long userId);
 
+    /**
+     * Lists the owner's items with their last and next bookings. Unlike getItemById, each item carries only its
+     * latest comments, at most shareit.items.owner-list.comments-per-item of them.
+     */
     List<ItemOutDTO> getAllItemsByOwner(Long ownerId, Integer from, Integer size);
 
-    List<ItemOutDTO> searchItems(String text, Integer from, Integer size);
+    List<ItemOutDTO> searchItems(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size);
+
+    ItemAvailabilityDTO getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentOutDTO addComment(Long userId, Long itemId, CommentDTO commentDTO);
 }
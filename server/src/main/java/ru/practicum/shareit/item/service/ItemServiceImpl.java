@@ -1,69 +1,96 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingDao;
-import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.dto.BookingDTO;
-import ru.practicum.shareit.booking.dto.BookingShortDTO;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemSearchEngine;
 import ru.practicum.shareit.item.dao.CommentDao;
 import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.CommentOutDTO;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.dto.ItemOutDTO;
-import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.ItemRequestDao;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.dto.UserDTO;
+import ru.practicum.shareit.util.AfterCommit;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.Status.APPROVED;
-import static ru.practicum.shareit.booking.Status.REJECTED;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final Duration MAX_AVAILABILITY_WINDOW = Duration.ofDays(366);
+
     private final ItemDao itemDao;
     private final ItemMapper itemMapper;
     private final UserDao userDao;
-    private final BookingMapper bookingMapper;
     private final BookingDao bookingDao;
     private final UserMapper userMapper;
     private final CommentMapper commentMapper;
     private final CommentDao commentDao;
     private final ItemRequestDao itemRequestDao;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchEngine itemSearchEngine;
+    private final UserExistenceCache userExistenceCache;
+
+    @Value("${shareit.items.owner-list.comments-per-item}")
+    private int commentsPerItem;
 
     @Override
     public ItemOutDTO addItem(Long ownerId, ItemDTO itemDto) {
         checkUserExists(ownerId);
         itemDto.setOwnerId(ownerId);
-        ItemOutDTO itemOutDTO = itemMapper.toOutDTO(itemDao.save(itemMapper.toModel(itemDto)));
+        Item item = itemDao.save(itemMapper.toModel(itemDto));
+        AfterCommit.run(() -> itemSearchEngine.index(item));
+        ItemOutDTO itemOutDTO = itemMapper.toOutDTO(item);
         itemOutDTO.setComments(new ArrayList<>());
         return itemOutDTO;
     }
 
+    @Override
+    @Transactional
+    public List<ItemOutDTO> addItems(Long ownerId, List<ItemDTO> itemDtos) {
+        checkUserExists(ownerId);
+        itemDtos.forEach(itemDto -> itemDto.setOwnerId(ownerId));
+        List<Item> items = itemDtos.stream()
+                .map(itemMapper::toModel)
+                .collect(Collectors.toList());
+        List<Item> savedItems = itemDao.saveAll(items);
+        AfterCommit.run(() -> savedItems.forEach(itemSearchEngine::index));
+        return savedItems.stream()
+                .map(item -> itemMapper.toOutDTO(item).toBuilder()
+                        .comments(new ArrayList<>())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     @Override
     public ItemOutDTO getItemById(Long itemId, Long userId) {
         ItemOutDTO itemOutDTO = itemMapper.toOutDTO(itemDao.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found")));
-        if (!userDao.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new NotFoundException("User not found");
         }
-        List<BookingDTO> bookings = bookingMapper.toListDTO(bookingDao.findAllByItem_IdAndStatusIsNot(itemId, REJECTED, Pageable.unpaged()).getContent());
         List<CommentOutDTO> comments = commentMapper.toListOutDTO(commentDao.findAllByItem_IdOrderByCreatedDesc(itemId));
         if (!itemDao.existsItemByIdAndOwner_Id(itemId, userId)) {
             itemOutDTO.setComments(comments);
@@ -71,7 +98,11 @@ public class ItemServiceImpl implements ItemService {
         }
         LocalDateTime now = LocalDateTime.now();
 
-        return collectItem(itemOutDTO, bookings, comments, now);
+        return itemOutDTO.toBuilder()
+                .lastBooking(bookingIntervalIndex.findLastBooking(itemId, now))
+                .nextBooking(bookingIntervalIndex.findNextBooking(itemId, now))
+                .comments(comments)
+                .build();
     }
 
     @Override
@@ -79,7 +110,7 @@ public class ItemServiceImpl implements ItemService {
         ItemDTO itemFromDB = itemMapper.toDTO(itemDao.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found")));
 
-        if (!userDao.existsById(ownerId)) {
+        if (!userExistenceCache.exists(ownerId)) {
             throw new NotFoundException("User not found");
         }
 
@@ -103,48 +134,70 @@ public class ItemServiceImpl implements ItemService {
         if (Objects.isNull(itemDto.getAvailable())) {
             itemDto.setAvailable(itemFromDB.getAvailable());
         }
-        return itemMapper.toOutDTO(itemDao.save(itemMapper.toModel(itemDto)));
+        Item item = itemDao.save(itemMapper.toModel(itemDto));
+        AfterCommit.run(() -> itemSearchEngine.index(item));
+        return itemMapper.toOutDTO(item);
     }
 
     @Override
     public List<ItemOutDTO> getAllItemsByOwner(Long ownerId, Integer from, Integer size) {
-        List<ItemOutDTO> responseItems = itemMapper.toListOutDTO(itemDao.findAllByOwnerIdOrderById(ownerId));
+        Pageable pageable = PageRequest.of(from / size, size);
+        List<ItemOutDTO> responseItems = itemMapper.toListOutDTO(itemDao.findAllByOwnerIdOrderById(ownerId, pageable));
+        if (responseItems.isEmpty()) {
+            return responseItems;
+        }
         List<Long> itemsIds = responseItems.stream()
                 .map(ItemOutDTO::getId)
                 .collect(Collectors.toList());
 
-        Pageable pageable = PageRequest.of(from / size, size);
-
-        Map<Long, List<BookingDTO>> bookings = bookingDao.findAllByItem_IdInAndStatusIsNot(itemsIds, REJECTED, pageable)
-                .getContent()
-                .stream()
-                .map(bookingMapper::toDTO)
-                .collect(Collectors.groupingBy(BookingDTO::getItemId));
-
-        Page<Comment> commentsPage = commentDao.findAllByItem_IdInOrderByCreatedDesc(itemsIds, pageable);
-        Map<Long, List<CommentOutDTO>> comments = commentsPage.getContent()
-                .stream()
-                .map(commentMapper::toOutDTO)
-                .collect(Collectors.groupingBy(CommentOutDTO::getItemId));
+        Map<Long, List<CommentOutDTO>> comments = findLatestComments(itemsIds);
 
         LocalDateTime now = LocalDateTime.now();
 
         return responseItems.stream().map(itemDto -> {
             Long itemId = itemDto.getId();
-            return collectItem(itemDto, bookings.getOrDefault(itemId, Collections.emptyList()), comments.getOrDefault(itemId, Collections.emptyList()), now);
+            return itemDto.toBuilder()
+                    .lastBooking(bookingIntervalIndex.findLastBooking(itemId, now))
+                    .nextBooking(bookingIntervalIndex.findNextBooking(itemId, now))
+                    .comments(comments.getOrDefault(itemId, Collections.emptyList()))
+                    .build();
         }).collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemOutDTO> searchItems(String text, Integer from, Integer size) {
+    public List<ItemOutDTO> searchItems(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size) {
         if (text == null || text.isEmpty()) {
             return new ArrayList<>();
         }
 
         Pageable pageable = PageRequest.of(from, size);
-        Page<Item> pageResult = itemDao.search(text, pageable);
 
-        return itemMapper.toListOutDTO(pageResult.getContent());
+        if (start == null && end == null) {
+            return itemMapper.toListOutDTO(itemSearchEngine.search(text, pageable));
+        }
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new BadRequestException("Search period needs both start and end, start must be before end");
+        }
+        return itemMapper.toListOutDTO(itemSearchEngine.searchFree(text, start, end, pageable));
+    }
+
+    @Override
+    public ItemAvailabilityDTO getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Start of the period must be before its end");
+        }
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_WINDOW) > 0) {
+            throw new BadRequestException("Period must not be longer than " + MAX_AVAILABILITY_WINDOW.toDays() + " days");
+        }
+        if (!itemDao.existsById(itemId)) {
+            throw new NotFoundException("Item not found");
+        }
+        return ItemAvailabilityDTO.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .slots(bookingIntervalIndex.availability(itemId, from, to))
+                .build();
     }
 
     @Override
@@ -173,39 +226,21 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private void checkUserExists(Long id) {
-        if (!userDao.existsById(id)) {
+        if (!userExistenceCache.exists(id)) {
             throw new NotFoundException("User not found");
         }
     }
 
-    private ItemOutDTO collectItem(ItemOutDTO item,
-                                   List<BookingDTO> bookings,
-                                   List<CommentOutDTO> comments,
-                                   LocalDateTime now) {
-
-        if (Objects.isNull(bookings)) {
-            return item.toBuilder()
-                    .lastBooking(null)
-                    .nextBooking(null)
-                    .comments(comments)
-                    .build();
+    private Map<Long, List<CommentOutDTO>> findLatestComments(List<Long> itemsIds) {
+        List<Long> commentIds = commentDao.findLatestIdsByItemIds(itemsIds, commentsPerItem).stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+        if (commentIds.isEmpty()) {
+            return Collections.emptyMap();
         }
-
-        BookingShortDTO lastBooking = bookingMapper.toShortDTO(bookings.stream()
-                .filter(booking -> booking.getStart().isBefore(now))
-                .max(Comparator.comparing(BookingDTO::getStart))
-                .orElse(null));
-
-        BookingShortDTO nextBooking = bookingMapper.toShortDTO(bookings.stream()
-                .filter(booking -> booking.getStart().isAfter(now))
-                .min(Comparator.comparing(BookingDTO::getStart))
-                .orElse(null));
-
-        return item.toBuilder()
-                .lastBooking(lastBooking)
-                .nextBooking(nextBooking)
-                .comments(comments)
-                .build();
+        return commentDao.findAllWithAuthorByIdIn(commentIds).stream()
+                .map(commentMapper::toOutDTO)
+                .collect(Collectors.groupingBy(CommentOutDTO::getItemId));
     }
 }
 
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routes every JDBC statement through datasource-proxy so the listeners see each round trip.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public static SqlRequestInspector sqlRequestInspector(
+            @Value("${shareit.sql.slow-threshold}") Duration slowThreshold,
+            @Value("${shareit.sql.repeat-threshold}") int repeatThreshold) {
+        return new SqlRequestInspector(slowThreshold, repeatThreshold);
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(SqlStatementCounter sqlStatementCounter,
+                                                                 SqlRequestInspector sqlRequestInspector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name(beanName)
+                            .listener(sqlStatementCounter)
+                            .listener(sqlRequestInspector)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency, errors and SQL work of every public service method. It runs outside the transaction advice,
+ * so the statements flushed on commit are attributed to the method that caused them.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry, SqlStatementCounter sqlStatementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Around("execution(public * ru.practicum.shareit.booking.BookingService.*(..)) " +
+            "|| execution(public * ru.practicum.shareit.item.service.ItemService.*(..)) " +
+            "|| execution(public * ru.practicum.shareit.user.service.UserService.*(..)) " +
+            "|| execution(public * ru.practicum.shareit.request.service.ItemRequestService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        long statementsBefore = sqlStatementCounter.statements();
+        long sqlNanosBefore = sqlStatementCounter.nanos();
+        long started = System.nanoTime();
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            Counter.builder("shareit.service.errors")
+                    .description("Service calls that ended with an exception")
+                    .tags("service", service, "method", method, "exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            Timer.builder("shareit.service.calls")
+                    .description("Latency of service calls")
+                    .tags("service", service, "method", method, "exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("shareit.service.sql.statements")
+                    .description("JDBC statements executed by one service call")
+                    .tags("service", service, "method", method)
+                    .register(meterRegistry)
+                    .record(sqlStatementCounter.statements() - statementsBefore);
+            Timer.builder("shareit.service.sql.time")
+                    .description("Time one service call spent in JDBC statements")
+                    .tags("service", service, "method", method)
+                    .register(meterRegistry)
+                    .record(sqlStatementCounter.nanos() - sqlNanosBefore, TimeUnit.NANOSECONDS);
+        }
+    }
+}
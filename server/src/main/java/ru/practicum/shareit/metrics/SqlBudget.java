@@ -0,0 +1,18 @@
+package ru.practicum.shareit.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most JDBC statements one call of the endpoint is expected to run. Endpoints without it get
+ * {@code shareit.sql.budget.default}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    int value();
+}
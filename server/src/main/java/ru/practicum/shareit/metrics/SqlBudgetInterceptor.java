@@ -0,0 +1,29 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the {@link SqlBudget} of the handler method to the current request.
+ */
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+    private final SqlRequestInspector inspector;
+
+    public SqlBudgetInterceptor(SqlRequestInspector inspector) {
+        this.inspector = inspector;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlBudget budget = ((HandlerMethod) handler).getMethodAnnotation(SqlBudget.class);
+            if (budget != null) {
+                inspector.declareBudget(budget.value());
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-request SQL inspection: slow statement log, N+1 warnings and statement budgets.
+ */
+@Configuration
+public class SqlInspectionConfig {
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestFilter> sqlRequestFilter(
+            SqlRequestInspector inspector,
+            @Value("${shareit.sql.budget.default}") int defaultBudget,
+            @Value("${shareit.sql.budget.enforce}") boolean enforce) {
+        FilterRegistrationBean<SqlRequestFilter> registration =
+                new FilterRegistrationBean<>(new SqlRequestFilter(inspector, defaultBudget, enforce));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlBudgetConfigurer(SqlRequestInspector inspector) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new SqlBudgetInterceptor(inspector));
+            }
+        };
+    }
+}
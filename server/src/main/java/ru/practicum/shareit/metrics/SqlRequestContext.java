@@ -0,0 +1,53 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC work attributed to one HTTP request.
+ */
+public class SqlRequestContext {
+    private final String request;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int budget;
+    private int statements;
+    private long elapsedMillis;
+
+    public SqlRequestContext(String request, int budget) {
+        this.request = request;
+        this.budget = budget;
+    }
+
+    /**
+     * Counts the statement and returns how many times its shape has run in this request.
+     */
+    int record(String shape, long elapsedMillis) {
+        this.statements++;
+        this.elapsedMillis += elapsedMillis;
+        return shapes.merge(shape, 1, Integer::sum);
+    }
+
+    void declareBudget(int budget) {
+        this.budget = budget;
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isOverBudget() {
+        return statements > budget;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens the SQL inspection scope for a request and checks its statement budget once it is done.
+ * With enforcement on, as in the test profile, a request over budget fails with an exception.
+ */
+@Slf4j
+public class SqlRequestFilter extends OncePerRequestFilter {
+    private final SqlRequestInspector inspector;
+    private final int defaultBudget;
+    private final boolean enforce;
+
+    public SqlRequestFilter(SqlRequestInspector inspector, int defaultBudget, boolean enforce) {
+        this.inspector = inspector;
+        this.defaultBudget = defaultBudget;
+        this.enforce = enforce;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        inspector.begin(request.getMethod() + " " + request.getRequestURI(), defaultBudget);
+        SqlRequestContext context;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            context = inspector.end();
+        }
+        log.debug("{} ran {} statements in {} ms", context.getRequest(), context.getStatements(),
+                context.getElapsedMillis());
+        if (!context.isOverBudget()) {
+            return;
+        }
+        String message = String.format("%s ran %d statements, budget is %d", context.getRequest(),
+                context.getStatements(), context.getBudget());
+        if (enforce) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+}
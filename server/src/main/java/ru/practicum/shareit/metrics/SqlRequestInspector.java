@@ -0,0 +1,93 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Attributes statements to the HTTP request running on the current thread. Logs statements slower than
+ * the threshold with their bound parameters, and warns once per shape when the same statement shape
+ * runs {@code repeatThreshold} times in one request, which is what an N+1 over a lazy association looks like.
+ * Statements outside a request (warm-up, schedulers) are not inspected.
+ */
+@Slf4j
+public class SqlRequestInspector implements QueryExecutionListener {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<SqlRequestContext> current = new ThreadLocal<>();
+    private final long slowThresholdMillis;
+    private final int repeatThreshold;
+
+    public SqlRequestInspector(Duration slowThreshold, int repeatThreshold) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public void begin(String request, int budget) {
+        current.set(new SqlRequestContext(request, budget));
+    }
+
+    public void declareBudget(int budget) {
+        SqlRequestContext context = current.get();
+        if (context != null) {
+            context.declareBudget(budget);
+        }
+    }
+
+    public SqlRequestContext end() {
+        SqlRequestContext context = current.get();
+        current.remove();
+        return context;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestContext context = current.get();
+        if (context == null) {
+            return;
+        }
+        String query = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+        String shape = shape(query);
+        int runs = context.record(shape, execInfo.getElapsedTime());
+
+        if (execInfo.getElapsedTime() >= slowThresholdMillis) {
+            log.warn("Slow statement in {} took {} ms: {} parameters {}", context.getRequest(),
+                    execInfo.getElapsedTime(), shape, parameters(queryInfoList));
+        }
+        if (runs == repeatThreshold) {
+            log.warn("Possible N+1 in {}: statement ran {} times: {}", context.getRequest(), runs, shape);
+        }
+    }
+
+    static String shape(String query) {
+        String shape = STRING_LITERAL.matcher(query).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static String parameters(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                .map(operations -> operations.stream()
+                        .map(ParameterSetOperation::getArgs)
+                        .filter(args -> args.length > 1)
+                        .map(args -> args[0] + "=" + args[1])
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(" "));
+    }
+}
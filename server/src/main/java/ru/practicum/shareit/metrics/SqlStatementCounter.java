@@ -0,0 +1,41 @@
+package ru.practicum.shareit.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts JDBC round trips and the time spent in them per thread. Callers take a snapshot before
+ * a piece of work and subtract it afterwards, so nested measurements do not disturb each other.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+    private final ThreadLocal<Counts> counts = ThreadLocal.withInitial(Counts::new);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        counts.get().started = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Counts current = counts.get();
+        current.statements++;
+        current.nanos += System.nanoTime() - current.started;
+    }
+
+    public long statements() {
+        return counts.get().statements;
+    }
+
+    public long nanos() {
+        return counts.get().nanos;
+    }
+
+    private static final class Counts {
+        private long statements;
+        private long nanos;
+        private long started;
+    }
+}
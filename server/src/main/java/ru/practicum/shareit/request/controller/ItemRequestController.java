@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.metrics.SqlBudget;
 
 import java.util.List;
 
@@ -23,11 +24,13 @@ public class ItemRequestController {
     }
 
     @GetMapping
+    @SqlBudget(15)
     public List<ItemRequestDto> findAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestService.findAllByUser(userId);
     }
 
     @GetMapping("/all")
+    @SqlBudget(15)
     public List<ItemRequestDto> getAllRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam Integer from,
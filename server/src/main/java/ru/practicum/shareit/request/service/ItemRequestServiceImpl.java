@@ -14,6 +14,7 @@ import ru.practicum.shareit.request.dao.ItemRequestDao;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapping.ItemRequestMapping;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
 
@@ -31,6 +32,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestMapping itemRequestMapping;
     private final ItemDao itemDao;
     private final ItemMapper itemMapper;
+    private final UserExistenceCache userExistenceCache;
 
     @Override
     @Transactional
@@ -45,7 +47,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> findAllByUser(Long userId) {
-        if (!userDao.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new NotFoundException("User not found");
         }
         return getItemRequestOutDtoList(itemRequestDao.findAllByRequesterId(userId));
@@ -53,7 +55,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> findAllByOtherUsers(Long userId, Integer from, Integer size) {
-        if (!userDao.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new NotFoundException("User not found");
         }
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
@@ -62,7 +64,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestDto findById(Long userId, Long id) {
-        if (!userDao.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new NotFoundException("User not found");
         }
         ItemRequestDto itemRequestDto = itemRequestMapping.toDto(itemRequestDao.findById(id)
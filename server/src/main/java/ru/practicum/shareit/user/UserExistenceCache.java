@@ -0,0 +1,89 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.dao.UserDao;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "does this user exist" for the X-Sharer-User-Id checks without a query per request.
+ * Known users are kept until evicted by size or TTL, and UserServiceImpl writes creations and deletions through.
+ * Unknown ids are cached only briefly, so a user created through another server node is seen within the negative TTL,
+ * and a deletion made on another node is seen within the positive TTL.
+ * A lookup that raced with a write on this node is answered but not cached, so it cannot undo that write.
+ */
+@Component
+public class UserExistenceCache {
+    private final UserDao userDao;
+    private final Cache<Long, Boolean> known;
+    private final Cache<Long, Boolean> missing;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public UserExistenceCache(UserDao userDao,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.users.exists-cache.max-size}") long maxSize,
+                              @Value("${shareit.users.exists-cache.ttl}") Duration ttl,
+                              @Value("${shareit.users.exists-cache.negative-ttl}") Duration negativeTtl) {
+        this.userDao = userDao;
+        this.known = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .<Long, Boolean>build(),
+                "user-exists");
+        this.missing = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(negativeTtl)
+                        .recordStats()
+                        .<Long, Boolean>build(),
+                "user-missing");
+    }
+
+    public boolean exists(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (known.getIfPresent(userId) != null) {
+            return true;
+        }
+        if (missing.getIfPresent(userId) != null) {
+            return false;
+        }
+        long loadedGeneration = generation.get();
+        boolean exists = userDao.existsById(userId);
+        put(exists ? known : missing, userId, loadedGeneration);
+        return exists;
+    }
+
+    public void created(Long userId) {
+        generation.incrementAndGet();
+        missing.invalidate(userId);
+        known.put(userId, Boolean.TRUE);
+    }
+
+    public void deleted(Long userId) {
+        generation.incrementAndGet();
+        known.invalidate(userId);
+        missing.put(userId, Boolean.TRUE);
+    }
+
+    private void put(Cache<Long, Boolean> target, Long userId, long loadedGeneration) {
+        if (generation.get() != loadedGeneration) {
+            return;
+        }
+        target.put(userId, Boolean.TRUE);
+        if (generation.get() != loadedGeneration) {
+            target.asMap().remove(userId, Boolean.TRUE);
+        }
+    }
+}
@@ -2,12 +2,18 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.dto.UserDTO;
 import ru.practicum.shareit.user.dto.UserOutDTO;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.AfterCommit;
 
 import java.util.List;
 import java.util.Objects;
@@ -18,10 +24,16 @@ public class UserServiceImpl implements UserService {
 
     private final UserDao userDao;
     private final UserMapper userMapper;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemDao itemDao;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchEngine itemSearchEngine;
 
     @Override
     public UserOutDTO createUser(UserDTO userDto) {
-        return userMapper.toOutDTO(userDao.save(userMapper.toModel(userDto)));
+        User saved = userDao.save(userMapper.toModel(userDto));
+        userExistenceCache.created(saved.getId());
+        return userMapper.toOutDTO(saved);
     }
 
     @Override
@@ -52,10 +64,18 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long userId) {
         if (!userDao.existsById(userId)) {
             throw new NotFoundException("User not found");
         }
+        List<Long> itemIds = itemDao.findIdsByOwnerId(userId);
         userDao.deleteById(userId);
+        // the database cascades the delete to the user's items and bookings
+        AfterCommit.run(() -> {
+            userExistenceCache.deleted(userId);
+            bookingIntervalIndex.removeUser(userId, itemIds);
+            itemSearchEngine.remove(itemIds);
+        });
     }
 }
\ No newline at end of file
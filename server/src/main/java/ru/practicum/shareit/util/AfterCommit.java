@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of the in-memory indexes until the database change they mirror is committed.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the action once the surrounding transaction has committed, so a rollback leaves the indexes untouched.
+     * Without a transaction the change is already committed and the action runs right away.
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
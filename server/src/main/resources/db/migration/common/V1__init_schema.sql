@@ -1,5 +1,3 @@
-DROP table IF EXISTS users, request, items, comments, bookings;
-
 CREATE TABLE IF NOT EXISTS users
 (
     id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -42,4 +40,4 @@ CREATE TABLE IF NOT EXISTS bookings
     status     VARCHAR(50)                 NOT NULL,
     booker_id  BIGINT REFERENCES users (id) ON DELETE CASCADE,
     item_id    BIGINT REFERENCES items (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS request_requester_created_idx ON request (requester_id, created DESC);
+CREATE INDEX IF NOT EXISTS request_created_idx ON request (created DESC);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS comments_item_created_idx ON comments (item_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_time);
+CREATE INDEX IF NOT EXISTS bookings_item_booker_status_end_idx ON bookings (item_id, booker_id, status, end_time);
+CREATE INDEX IF NOT EXISTS bookings_status_idx ON bookings (status);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS bookings_item_start_end_idx ON bookings (item_id, start_time, end_time);
@@ -0,0 +1,7 @@
+-- Hibernate's pooled optimizer treats a sequence value as the upper bound of a block of 50 ids,
+-- so rows inserted through the former identity columns must stay below the first block.
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+SELECT setval('request_seq', COALESCE(MAX(id), 0) + 50, false) FROM request;
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 50, false) FROM items;
+SELECT setval('comments_seq', COALESCE(MAX(id), 0) + 50, false) FROM comments;
+SELECT setval('bookings_seq', COALESCE(MAX(id), 0) + 50, false) FROM bookings;
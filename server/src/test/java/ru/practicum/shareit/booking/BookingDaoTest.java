@@ -12,6 +12,8 @@ import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -72,19 +74,80 @@ class BookingDaoTest {
     }
 
     void init() {
-        userDao.save(user1);
-        userDao.save(user2);
-        itemDao.save(item1);
-        itemDao.save(item2);
+        User booker = userDao.save(user1);
+        User owner = userDao.save(user2);
+        itemDao.save(item1.toBuilder().owner(booker).build());
+        Item item = itemDao.save(item2.toBuilder().owner(owner).build());
+        booking.setBooker(booker);
+        booking.setItem(item);
     }
 
     @Test
     void testUpdateBooking_ReturnsBookingWithApprovedStatus() {
         init();
         Booking bookingFromDB = bookingDAO.save(booking);
-        bookingDAO.approvedBooking(bookingFromDB.getId(), "APPROVED");
+        int updated = bookingDAO.updateStatus(bookingFromDB.getId(), bookingFromDB.getStatus(),
+                bookingFromDB.getVersion(), Status.APPROVED);
         entityManager.clear();
 
+        assertEquals(1, updated);
         assertEquals(Status.APPROVED, bookingDAO.findById(bookingFromDB.getId()).get().getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateBooking_WithStaleState_UpdatesNothing() {
+        init();
+        Booking bookingFromDB = bookingDAO.saveAndFlush(booking);
+        bookingDAO.updateStatus(bookingFromDB.getId(), bookingFromDB.getStatus(),
+                bookingFromDB.getVersion(), Status.REJECTED);
+        entityManager.clear();
+
+        assertEquals(0, bookingDAO.updateStatus(bookingFromDB.getId(), bookingFromDB.getStatus(),
+                bookingFromDB.getVersion(), Status.APPROVED));
+        assertEquals(Status.REJECTED, bookingDAO.findById(bookingFromDB.getId()).get().getStatus());
+    }
+
+    @Test
+    void testFindIndexed_ReturnsFutureBookingsAndLatestEndedOne() {
+        init();
+        LocalDateTime now = LocalDateTime.now();
+        saveCopy(now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        Booking latest = saveCopy(now.minusDays(2), now.minusDays(1), Status.APPROVED);
+        saveCopy(now.minusHours(20), now.minusHours(19), Status.REJECTED);
+        Booking future = bookingDAO.save(booking);
+
+        List<Long> ids = bookingDAO.findIndexed(List.of(Status.WAITING, Status.APPROVED), now).stream()
+                .map(Booking::getId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(latest.getId(), future.getId()), ids);
+    }
+
+    @Test
+    void testFindIntersecting_ReturnsEndedBookingsInPeriodOrderedByStart() {
+        init();
+        LocalDateTime now = LocalDateTime.now();
+        Booking second = saveCopy(now.minusDays(2), now.minusDays(1), Status.APPROVED);
+        Booking first = saveCopy(now.minusDays(4), now.minusDays(3), Status.WAITING);
+        saveCopy(now.minusDays(3), now.minusDays(2), Status.REJECTED);
+        saveCopy(now.minusDays(10), now.minusDays(9), Status.APPROVED);
+
+        List<Long> ids = bookingDAO.findIntersecting(booking.getItem().getId(),
+                        List.of(Status.WAITING, Status.APPROVED), now.minusDays(5), now).stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(first.getId(), second.getId()), ids);
+    }
+
+    private Booking saveCopy(LocalDateTime start, LocalDateTime end, Status status) {
+        return bookingDAO.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .status(status)
+                .booker(booking.getBooker())
+                .item(booking.getItem())
+                .build());
+    }
+}
@@ -0,0 +1,194 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingShortDTO;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDTO;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingDao bookingDao;
+
+    @InjectMocks
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private final Long itemId = 1L;
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private final LocalDateTime end = start.plusHours(2);
+
+    @BeforeEach
+    void setUp() {
+        bookingIntervalIndex.add(itemId, 1L, 5L, start, end);
+    }
+
+    @Test
+    void testOverlaps_WithIntersectingInterval_ReturnsTrue() {
+        assertTrue(bookingIntervalIndex.overlaps(itemId, start.minusHours(1), start.plusHours(1)));
+        assertTrue(bookingIntervalIndex.overlaps(itemId, start.plusMinutes(30), end.minusMinutes(30)));
+        assertTrue(bookingIntervalIndex.overlaps(itemId, end.minusMinutes(1), end.plusHours(1)));
+    }
+
+    @Test
+    void testOverlaps_WithAdjacentIntervals_ReturnsFalse() {
+        assertFalse(bookingIntervalIndex.overlaps(itemId, start.minusHours(1), start));
+        assertFalse(bookingIntervalIndex.overlaps(itemId, end, end.plusHours(1)));
+    }
+
+    @Test
+    void testOverlaps_WithOtherItem_ReturnsFalse() {
+        assertFalse(bookingIntervalIndex.overlaps(2L, start, end));
+    }
+
+    @Test
+    void testOverlaps_WithLongBookingCoveringLaterShortOne_ReturnsTrue() {
+        bookingIntervalIndex.add(itemId, 2L, 5L, start.plusMinutes(10), start.plusMinutes(20));
+
+        assertTrue(bookingIntervalIndex.overlaps(itemId, start.plusMinutes(30), start.plusMinutes(40)));
+        assertFalse(bookingIntervalIndex.overlaps(itemId, end, end.plusHours(1)));
+    }
+
+    @Test
+    void testOverlaps_AfterRemove_ReturnsFalse() {
+        bookingIntervalIndex.remove(itemId, 1L);
+
+        assertFalse(bookingIntervalIndex.overlaps(itemId, start, end));
+    }
+
+    @Test
+    void testRemoveUser_DropsBookingsOfUserAndOnUsersItems() {
+        bookingIntervalIndex.add(2L, 2L, 6L, start, end);
+        bookingIntervalIndex.add(3L, 3L, 7L, start, end);
+
+        bookingIntervalIndex.removeUser(5L, List.of(2L));
+
+        assertFalse(bookingIntervalIndex.overlaps(itemId, start, end));
+        assertFalse(bookingIntervalIndex.overlaps(2L, start, end));
+        assertTrue(bookingIntervalIndex.overlaps(3L, start, end));
+    }
+
+    @Test
+    void testAvailability_ReturnsFreeAndBusySlotsByHour() {
+        bookingIntervalIndex.add(itemId, 2L, 5L, end.plusMinutes(30), end.plusHours(1));
+
+        assertEquals(List.of(
+                        new AvailabilitySlotDTO(start.minusHours(2), start, true),
+                        new AvailabilitySlotDTO(start, end.plusHours(1), false),
+                        new AvailabilitySlotDTO(end.plusHours(1), end.plusHours(3), true)),
+                bookingIntervalIndex.availability(itemId, start.minusMinutes(90), end.plusHours(3)));
+    }
+
+    @Test
+    void testAvailability_AfterRemove_KeepsHoursSharedWithNeighbours() {
+        bookingIntervalIndex.add(itemId, 2L, 5L, start.minusHours(3), start.minusMinutes(30));
+        bookingIntervalIndex.add(itemId, 3L, 5L, end.plusMinutes(30), end.plusHours(1));
+
+        bookingIntervalIndex.remove(itemId, 1L);
+
+        assertEquals(List.of(
+                        new AvailabilitySlotDTO(start.minusHours(3), start, false),
+                        new AvailabilitySlotDTO(start, end, true),
+                        new AvailabilitySlotDTO(end, end.plusHours(1), false)),
+                bookingIntervalIndex.availability(itemId, start.minusHours(3), end.plusHours(1)));
+    }
+
+    @Test
+    void testAvailability_WithBookingEndingFarInFuture_ReturnsBusyRange() {
+        LocalDateTime later = end.plusDays(1);
+        bookingIntervalIndex.add(itemId, 2L, 5L, later, LocalDateTime.of(999_999, 1, 1, 0, 0));
+
+        assertEquals(List.of(
+                        new AvailabilitySlotDTO(end, later, true),
+                        new AvailabilitySlotDTO(later, later.plusDays(1), false)),
+                bookingIntervalIndex.availability(itemId, end, later.plusDays(1)));
+        assertTrue(bookingIntervalIndex.overlaps(itemId, later.plusYears(100), later.plusYears(101)));
+    }
+
+    @Test
+    void testAvailability_WithPastRange_ReadsEndedBookingsFromDatabase() {
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusDays(5);
+        Booking first = Booking.builder().id(10L).start(from.plusHours(2)).end(from.plusHours(4)).build();
+        Booking second = Booking.builder().id(11L).start(from.plusHours(6)).end(from.plusHours(7)).build();
+        bookingIntervalIndex.add(4L, 10L, 5L, first.getStart(), first.getEnd());
+        bookingIntervalIndex.add(4L, 11L, 5L, second.getStart(), second.getEnd());
+        bookingIntervalIndex.add(4L, 12L, 5L, from.plusDays(10), from.plusDays(11));
+        when(bookingDao.findIntersecting(eq(4L), anyCollection(), eq(from), eq(from.plusHours(8))))
+                .thenReturn(List.of(first, second));
+
+        assertEquals(List.of(
+                        new AvailabilitySlotDTO(from, from.plusHours(2), true),
+                        new AvailabilitySlotDTO(from.plusHours(2), from.plusHours(4), false),
+                        new AvailabilitySlotDTO(from.plusHours(4), from.plusHours(6), true),
+                        new AvailabilitySlotDTO(from.plusHours(6), from.plusHours(7), false),
+                        new AvailabilitySlotDTO(from.plusHours(7), from.plusHours(8), true)),
+                bookingIntervalIndex.availability(4L, from, from.plusHours(8)));
+    }
+
+    @Test
+    void testAvailability_WithItemWithoutBookings_ReturnsSingleFreeSlot() {
+        assertEquals(List.of(new AvailabilitySlotDTO(start, end, true)),
+                bookingIntervalIndex.availability(2L, start, end));
+    }
+
+    @Test
+    void testFindLastAndNextBooking_ReturnsNearestBookings() {
+        bookingIntervalIndex.add(itemId, 2L, 6L, end.plusDays(1), end.plusDays(2));
+        bookingIntervalIndex.add(itemId, 3L, 7L, end.plusDays(3), end.plusDays(4));
+
+        assertEquals(new BookingShortDTO(1L, 5L), bookingIntervalIndex.findLastBooking(itemId, end));
+        assertEquals(new BookingShortDTO(2L, 6L), bookingIntervalIndex.findNextBooking(itemId, end));
+        assertNull(bookingIntervalIndex.findLastBooking(itemId, start));
+        assertNull(bookingIntervalIndex.findNextBooking(2L, start));
+    }
+
+    @Test
+    void testAdd_DropsEndedBookingsExceptLatest() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingIntervalIndex.add(4L, 10L, 5L, now.minusDays(3), now.minusDays(2));
+        bookingIntervalIndex.add(4L, 11L, 6L, now.minusDays(2), now.minusDays(1));
+        bookingIntervalIndex.add(4L, 12L, 7L, now.plusDays(1), now.plusDays(2));
+
+        assertFalse(bookingIntervalIndex.overlaps(4L, now.minusDays(3), now.minusDays(2)));
+        assertTrue(bookingIntervalIndex.overlaps(4L, now.minusDays(2), now.minusDays(1)));
+        assertEquals(new BookingShortDTO(11L, 6L), bookingIntervalIndex.findLastBooking(4L, now));
+        assertEquals(new BookingShortDTO(12L, 7L), bookingIntervalIndex.findNextBooking(4L, now));
+    }
+
+    @Test
+    void testWarmUp_LoadsActiveBookings() {
+        Booking booking = Booking.builder()
+                .id(2L)
+                .item(Item.builder().id(3L).build())
+                .booker(User.builder().id(5L).build())
+                .start(start)
+                .end(end)
+                .status(Status.APPROVED)
+                .build();
+        when(bookingDao.findIndexed(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of(booking));
+
+        bookingIntervalIndex.warmUp();
+
+        assertTrue(bookingIntervalIndex.overlaps(3L, start, end));
+        assertFalse(bookingIntervalIndex.overlaps(itemId, start, end));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingItemLocksTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookingItemLocks locks = new BookingItemLocks(1, meterRegistry);
+
+    @Test
+    @SneakyThrows
+    void testWithLock_SameItem_SerializesActionsAndCountsContention() {
+        CountDownLatch firstInside = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger inside = new AtomicInteger();
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> locks.withLock(1L, () -> {
+            int concurrent = inside.incrementAndGet();
+            firstInside.countDown();
+            await(releaseFirst);
+            inside.decrementAndGet();
+            return concurrent;
+        }));
+        assertTrue(firstInside.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> locks.withLocks(List.of(2L, 1L), () -> {
+            int concurrent = inside.incrementAndGet();
+            inside.decrementAndGet();
+            return concurrent;
+        }));
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+
+        releaseFirst.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("booking.item.lock.contended").counter().count());
+        assertEquals(1, meterRegistry.get("booking.item.lock.wait").timer().count());
+    }
+
+    @Test
+    @SneakyThrows
+    void testWithLocksUntilCompletion_InTransaction_HoldsLockUntilCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(1, locks.withLocksUntilCompletion(List.of(1L), () -> 1));
+
+            CompletableFuture<Integer> other = CompletableFuture.supplyAsync(() -> locks.withLock(2L, () -> 2));
+            Thread.sleep(100);
+            assertFalse(other.isDone());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertEquals(2, other.get(5, TimeUnit.SECONDS));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await(5, TimeUnit.SECONDS);
+    }
+}
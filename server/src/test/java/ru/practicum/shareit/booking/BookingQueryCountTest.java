@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingQueryCountTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private ItemDao itemDao;
+
+    @Autowired
+    private BookingDao bookingDao;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userDao.save(User.builder()
+                .email("owner" + System.nanoTime() + "@test.com")
+                .name("Owner")
+                .build());
+        booker = userDao.save(User.builder()
+                .email("booker" + System.nanoTime() + "@test.com")
+                .name("Booker")
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            Item item = itemDao.save(Item.builder()
+                    .name("Дрель " + i)
+                    .description("Простая дрель")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                bookingDao.save(Booking.builder()
+                        .start(start.plusDays(i * 2L + j))
+                        .end(start.plusDays(i * 2L + j).plusHours(1))
+                        .status(Status.WAITING)
+                        .booker(booker)
+                        .item(item)
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    void testGetUserBookings_RunsSameStatementCountForAnyPageSize() {
+        assertEquals(countStatements("/bookings", booker.getId(), 1),
+                countStatements("/bookings", booker.getId(), 10));
+    }
+
+    @Test
+    void testGetOwnerBookings_RunsSameStatementCountForAnyPageSize() {
+        assertEquals(countStatements("/bookings/owner", owner.getId(), 1),
+                countStatements("/bookings/owner", owner.getId(), 10));
+    }
+
+    @SneakyThrows
+    private long countStatements(String path, Long userId, int size) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc.perform(get(path)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", String.valueOf(size))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+}
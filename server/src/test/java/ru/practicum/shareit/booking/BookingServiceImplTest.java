@@ -1,14 +1,35 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingOutDTO;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserExistenceCache;
+import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -17,6 +38,30 @@ class BookingServiceImplTest {
     @Mock
     private UserDao userRepository;
 
+    @Mock
+    private ItemDao itemRepository;
+
+    @Mock
+    private BookingDao bookingRepository;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Spy
+    private BookingItemLocks bookingItemLocks = new BookingItemLocks(4, new SimpleMeterRegistry());
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -27,10 +72,83 @@ class BookingServiceImplTest {
         Integer from = 0;
         Integer size = 10;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
-                bookingService.getUserBookings(userId, state, from, size)
+                bookingService.getUserBookings(userId, state, from, size, null)
+        );
+    }
+
+    @Test
+    void testCreateBookings_WithOverlappingBookingsInRequest_ShouldThrowBadRequestException() {
+        Long bookerId = 2L;
+        Long itemId = 1L;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Item item = Item.builder()
+                .id(itemId)
+                .available(true)
+                .owner(User.builder().id(1L).build())
+                .build();
+        BookingDTO first = BookingDTO.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(start.plusDays(2))
+                .build();
+        BookingDTO second = BookingDTO.builder()
+                .itemId(itemId)
+                .start(start.plusDays(1))
+                .end(start.plusDays(3))
+                .build();
+
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(User.builder().id(bookerId).build()));
+        when(itemRepository.findAllById(Set.of(itemId))).thenReturn(List.of(item));
+
+        assertThrows(BadRequestException.class, () ->
+                bookingService.createBookings(bookerId, List.of(first, second))
         );
+        verify(bookingRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void testCreateBookings_InTransaction_UpdatesIndexOnlyAfterCommit() {
+        Long bookerId = 2L;
+        Long itemId = 1L;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        Item item = Item.builder()
+                .id(itemId)
+                .available(true)
+                .owner(User.builder().id(1L).build())
+                .build();
+        BookingDTO bookingDTO = BookingDTO.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build();
+        Booking booking = Booking.builder()
+                .id(10L)
+                .item(item)
+                .start(start)
+                .end(end)
+                .build();
+
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(User.builder().id(bookerId).build()));
+        when(itemRepository.findAllById(Set.of(itemId))).thenReturn(List.of(item));
+        when(bookingMapper.toModel(bookingDTO)).thenReturn(booking);
+        when(bookingRepository.saveAllAndFlush(List.of(booking))).thenReturn(List.of(booking));
+        when(bookingMapper.toOutDTO(booking)).thenReturn(BookingOutDTO.builder().id(10L).build());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingService.createBookings(bookerId, List.of(bookingDTO));
+            verify(bookingIntervalIndex, never()).add(any(), any(), any(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(bookingIntervalIndex).add(itemId, 10L, bookerId, start, end);
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
-}
\ No newline at end of file
+}
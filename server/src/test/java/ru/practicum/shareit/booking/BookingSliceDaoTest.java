@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingSliceDaoTest {
+    @Autowired
+    private BookingDao bookingDao;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private ItemDao itemDao;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void setUp() {
+        owner = userDao.save(User.builder()
+                .email("owner@test.com")
+                .name("Owner")
+                .build());
+        booker = userDao.save(User.builder()
+                .email("booker@test.com")
+                .name("Booker")
+                .build());
+        item = itemDao.save(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void testFindSliceAfter_ReturnsBookingsPastCursorNewestFirst() {
+        Booking first = saveBooking(start);
+        Booking second = saveBooking(start.plusDays(1));
+        Booking third = saveBooking(start.plusDays(1));
+        Booking fourth = saveBooking(start.plusDays(2));
+
+        BookingCursor cursor = BookingCursor.decode(BookingCursor.of(third).encode());
+
+        assertEquals(List.of(second.getId(), first.getId()),
+                ids(bookingDao.findBookerSliceAfter(booker.getId(), cursor.getStart(), cursor.getId(),
+                        PageRequest.of(0, 10))));
+        assertEquals(List.of(third.getId()),
+                ids(bookingDao.findOwnerSliceAfter(owner.getId(), fourth.getStart(), fourth.getId(),
+                        PageRequest.of(0, 1))));
+        assertEquals(List.of(second.getId()),
+                ids(bookingDao.findOwnerFutureSliceAfter(owner.getId(), start.plusHours(1),
+                        cursor.getStart(), cursor.getId(), PageRequest.of(0, 10))));
+    }
+
+    private Booking saveBooking(LocalDateTime bookingStart) {
+        return bookingDao.save(Booking.builder()
+                .start(bookingStart)
+                .end(bookingStart.plusHours(1))
+                .status(Status.WAITING)
+                .booker(booker)
+                .item(item)
+                .build());
+    }
+
+    private List<Long> ids(List<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.config;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EtagConfigTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Test
+    @SneakyThrows
+    void testGetRequests_WithMatchingIfNoneMatch_ReturnsNotModified() {
+        User user = userDao.save(User.builder()
+                .email("etag@test.com")
+                .name("Test")
+                .build());
+
+        String etag = mvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+    }
+}
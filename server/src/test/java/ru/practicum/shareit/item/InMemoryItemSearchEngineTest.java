@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemDao itemDao;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @InjectMocks
+    private InMemoryItemSearchEngine searchEngine;
+
+    private final PageRequest firstPage = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        when(itemDao.findAll()).thenReturn(List.of(
+                item(1L, "Дрель", "Простая дрель", true),
+                item(2L, "Отвертка", "Аккумуляторная отвертка", true),
+                item(3L, "Клей Момент", "Тюбик суперклея марки Момент", false)));
+        searchEngine.warmUp();
+    }
+
+    @Test
+    void testSearch_WithSubstringInAnyCase_ReturnsMatchingItems() {
+        assertEquals(List.of(2L), searchEngine.searchIds("ОТВЕР", firstPage));
+        assertEquals(List.of(1L), searchEngine.searchIds("прост", firstPage));
+        assertEquals(List.of(1L, 2L), searchEngine.searchIds("р", firstPage));
+    }
+
+    @Test
+    void testSearch_WithUnavailableItem_SkipsItem() {
+        assertEquals(List.of(), searchEngine.searchIds("суперклей", firstPage));
+        assertEquals(List.of(), searchEngine.searchIds("момент", firstPage));
+    }
+
+    @Test
+    void testSearch_AfterIndexUpdate_ReturnsCurrentState() {
+        searchEngine.index(item(2L, "Шуруповерт", "Аккумуляторный шуруповерт", true));
+        searchEngine.index(item(3L, "Клей Момент", "Тюбик суперклея марки Момент", true));
+
+        assertEquals(List.of(), searchEngine.searchIds("отвертка", firstPage));
+        assertEquals(List.of(2L), searchEngine.searchIds("шуруп", firstPage));
+        assertEquals(List.of(3L), searchEngine.searchIds("момент", firstPage));
+    }
+
+    @Test
+    void testSearch_AfterRemove_SkipsRemovedItems() {
+        searchEngine.remove(List.of(1L));
+
+        assertEquals(List.of(2L), searchEngine.searchIds("р", firstPage));
+        assertEquals(List.of(), searchEngine.searchIds("дрель", firstPage));
+    }
+
+    @Test
+    void testSearch_WithPage_ReturnsRequestedSlice() {
+        assertEquals(List.of(2L), searchEngine.searchIds("р", PageRequest.of(1, 1)));
+    }
+
+    @Test
+    void testSearch_LoadsItemsInIndexOrder() {
+        Item drill = item(1L, "Дрель", "Простая дрель", true);
+        Item screwdriver = item(2L, "Отвертка", "Аккумуляторная отвертка", true);
+        when(itemDao.findAllById(List.of(1L, 2L))).thenReturn(List.of(screwdriver, drill));
+
+        assertEquals(List.of(drill, screwdriver), searchEngine.search("р", firstPage));
+    }
+
+    @Test
+    void testSearchFree_SkipsItemsBookedInPeriod() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusDays(1);
+        Item screwdriver = item(2L, "Отвертка", "Аккумуляторная отвертка", true);
+        when(bookingIntervalIndex.overlaps(1L, start, end)).thenReturn(true);
+        when(bookingIntervalIndex.overlaps(2L, start, end)).thenReturn(false);
+        when(itemDao.findAllById(List.of(2L))).thenReturn(List.of(screwdriver));
+
+        assertEquals(List.of(screwdriver), searchEngine.searchFree("р", start, end, firstPage));
+    }
+
+    @Test
+    void testSearchFree_WithPeriodInPast_SearchesDatabase() {
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        LocalDateTime end = start.plusDays(1);
+        Item screwdriver = item(2L, "Отвертка", "Аккумуляторная отвертка", true);
+        when(itemDao.searchFree("р", start, end, PageRequest.of(0, 10, Sort.by("id"))))
+                .thenReturn(List.of(screwdriver));
+
+        assertEquals(List.of(screwdriver), searchEngine.searchFree("р", start, end, firstPage));
+        verifyNoInteractions(bookingIntervalIndex);
+    }
+
+    private Item item(Long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class CommentDaoTest {
+    @Autowired
+    private CommentDao commentDao;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private ItemDao itemDao;
+
+    private User author;
+    private Item item1;
+    private Item item2;
+    private final LocalDateTime created = LocalDateTime.now().minusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        author = userDao.save(User.builder()
+                .email("test@test.com")
+                .name("Test")
+                .build());
+        item1 = itemDao.save(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .owner(author)
+                .build());
+        item2 = itemDao.save(Item.builder()
+                .name("Отвертка")
+                .description("Крестовая отвертка")
+                .available(true)
+                .owner(author)
+                .build());
+    }
+
+    @Test
+    void testFindLatestIdsByItemIds_ReturnsTopCommentsPerItem() {
+        saveComment(item1, created);
+        Comment middle = saveComment(item1, created.plusHours(1));
+        Comment newest = saveComment(item1, created.plusHours(2));
+        Comment other = saveComment(item2, created);
+
+        List<Long> ids = commentDao.findLatestIdsByItemIds(List.of(item1.getId(), item2.getId()), 2).stream()
+                .map(Number::longValue)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(middle.getId(), newest.getId(), other.getId()), ids);
+        assertEquals(List.of(newest.getId(), middle.getId()),
+                commentDao.findAllWithAuthorByIdIn(List.of(middle.getId(), newest.getId())).stream()
+                        .map(Comment::getId)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testFindLatestIdsByItemIds_WithElevenComments_ReturnsNewestTen() {
+        List<Long> expected = new ArrayList<>();
+        saveComment(item1, created);
+        for (int i = 1; i <= 10; i++) {
+            expected.add(saveComment(item1, created.plusMinutes(i)).getId());
+        }
+
+        List<Long> ids = commentDao.findLatestIdsByItemIds(List.of(item1.getId()), 10).stream()
+                .map(Number::longValue)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(expected, ids);
+        assertEquals(11, commentDao.findAllByItem_IdOrderByCreatedDesc(item1.getId()).size());
+    }
+
+    private Comment saveComment(Item item, LocalDateTime time) {
+        return commentDao.saveAndFlush(Comment.builder()
+                .text("Комментарий")
+                .item(item)
+                .author(author)
+                .created(time)
+                .build());
+    }
+}
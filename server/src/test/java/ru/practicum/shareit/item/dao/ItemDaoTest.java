@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDao;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemDaoTest {
+    @Autowired
+    private ItemDao itemDao;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private BookingDao bookingDao;
+
+    private User owner;
+    private User booker;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    private final LocalDateTime end = start.plusDays(2);
+
+    @BeforeEach
+    void setUp() {
+        owner = userDao.save(User.builder()
+                .email("owner@test.com")
+                .name("Owner")
+                .build());
+        booker = userDao.save(User.builder()
+                .email("booker@test.com")
+                .name("Booker")
+                .build());
+    }
+
+    @Test
+    void testSearchFree_SkipsItemsWithActiveBookingInPeriod() {
+        Item booked = saveItem("Дрель");
+        Item rejected = saveItem("Дрель ударная");
+        Item bookedLater = saveItem("Дрель аккумуляторная");
+        saveBooking(booked, start.minusDays(1), start.plusHours(1), Status.APPROVED);
+        saveBooking(rejected, start, end, Status.REJECTED);
+        saveBooking(bookedLater, end, end.plusDays(1), Status.WAITING);
+
+        List<Long> ids = itemDao.searchFree("дрель", start, end, PageRequest.of(0, 10)).stream()
+                .map(Item::getId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(rejected.getId(), bookedLater.getId()), ids);
+    }
+
+    private Item saveItem(String name) {
+        return itemDao.save(Item.builder()
+                .name(name)
+                .description("Инструмент")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    private void saveBooking(Item item, LocalDateTime bookingStart, LocalDateTime bookingEnd, Status status) {
+        bookingDao.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(bookingStart)
+                .end(bookingEnd)
+                .status(status)
+                .build());
+    }
+}
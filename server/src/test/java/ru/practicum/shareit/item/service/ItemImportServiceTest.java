@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.item.dto.ItemDTO;
+import ru.practicum.shareit.item.dto.ItemImportErrorDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
+import ru.practicum.shareit.item.dto.ItemOutDTO;
+import ru.practicum.shareit.request.dao.ItemRequestDao;
+import ru.practicum.shareit.user.UserExistenceCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImportServiceTest {
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private ItemRequestDao itemRequestDao;
+
+    private ItemImportService importService;
+
+    private final Long ownerId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ItemImportService(itemService, userExistenceCache, itemRequestDao,
+                new ObjectMapper().findAndRegisterModules(), 2);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemService.addItems(eq(ownerId), anyList())).thenAnswer(invocation -> {
+            List<ItemDTO> items = invocation.getArgument(1);
+            return Collections.nCopies(items.size(), ItemOutDTO.builder().build());
+        });
+    }
+
+    @Test
+    void testImportItems_WithJsonArray_SavesValidRowsInBatches() {
+        String json = "[" +
+                "{\"name\": \"Дрель\", \"description\": \"Простая дрель\", \"available\": true}," +
+                "{\"name\": \"\", \"description\": \"Без имени\", \"available\": true}," +
+                "{\"name\": \"Отвертка\", \"description\": \"Крестовая отвертка\", \"available\": false}," +
+                "{\"name\": \"Молоток\", \"description\": \"Слесарный молоток\", \"available\": true}" +
+                "]";
+
+        ItemImportReportDTO report = importService.importItems(ownerId, MediaType.APPLICATION_JSON, stream(json));
+
+        assertEquals(3, report.getImported());
+        assertEquals(List.of(new ItemImportErrorDTO(2, "Имя не может быть пустым")), report.getErrors());
+        ArgumentCaptor<List<ItemDTO>> batches = ArgumentCaptor.forClass(List.class);
+        verify(itemService, times(2)).addItems(eq(ownerId), batches.capture());
+        assertEquals(List.of(List.of("Дрель", "Отвертка"), List.of("Молоток")), batches.getAllValues().stream()
+                .map(batch -> batch.stream().map(ItemDTO::getName).collect(Collectors.toList()))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testImportItems_WithCsv_ReportsRowsThatFailToParse() {
+        String csv = "name,description,available\n" +
+                "Дрель,\"Простая дрель, ударная\",true\n" +
+                "Отвертка,Крестовая отвертка,maybe\n" +
+                "Молоток,Слесарный молоток,\n";
+
+        ItemImportReportDTO report = importService.importItems(ownerId, ItemImportService.TEXT_CSV, stream(csv));
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream()
+                .map(ItemImportErrorDTO::getRow)
+                .collect(Collectors.toList()));
+        assertEquals("Поле available не может быть null", report.getErrors().get(1).getError());
+    }
+
+    @Test
+    void testImportItems_WithTooLongValues_RejectsOnlyThoseRows() {
+        String json = "[" +
+                "{\"name\": \"Дрель\", \"description\": \"Простая дрель\", \"available\": true}," +
+                "{\"name\": \"" + "Д".repeat(51) + "\", \"description\": \"Длинное имя\", \"available\": true}," +
+                "{\"name\": \"Отвертка\", \"description\": \"" + "о".repeat(201) + "\", \"available\": true}," +
+                "{\"name\": \"" + "М".repeat(50) + "\", \"description\": \"" + "м".repeat(200) + "\", \"available\": true}" +
+                "]";
+
+        ItemImportReportDTO report = importService.importItems(ownerId, MediaType.APPLICATION_JSON, stream(json));
+
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(
+                new ItemImportErrorDTO(2, "Имя не может быть длиннее 50 символов"),
+                new ItemImportErrorDTO(3, "Описание не может быть длиннее 200 символов")), report.getErrors());
+        ArgumentCaptor<List<ItemDTO>> batches = ArgumentCaptor.forClass(List.class);
+        verify(itemService).addItems(eq(ownerId), batches.capture());
+        assertEquals(List.of("Дрель", "М".repeat(50)), batches.getValue().stream()
+                .map(ItemDTO::getName)
+                .collect(Collectors.toList()));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,16 +5,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.item.dao.CommentDao;
 import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.dto.CommentOutDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
+import ru.practicum.shareit.item.dto.ItemOutDTO;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.UserExistenceCache;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,7 +41,16 @@ class ItemServiceImplTest {
     private ItemMapper itemMapper;
 
     @Mock
-    private UserDao userDao;
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private CommentDao commentDao;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -50,10 +73,57 @@ class ItemServiceImplTest {
                 .build();
         when(itemDao.findById(itemId)).thenReturn(Optional.of(item));
         when(itemMapper.toDTO(item)).thenReturn(itemDto);
-        when(userDao.existsById(ownerId)).thenReturn(false);
+        when(userExistenceCache.exists(ownerId)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 itemService.updateItem(itemId, ownerId, itemDto)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllItemsByOwner_LimitsCommentsToConfiguredCount() {
+        Long ownerId = 1L;
+        Long itemId = 2L;
+        ReflectionTestUtils.setField(itemService, "commentsPerItem", 3);
+        Item item = Item.builder().id(itemId).build();
+        Comment comment = Comment.builder().id(5L).build();
+        CommentOutDTO commentOutDTO = CommentOutDTO.builder().id(5L).itemId(itemId).build();
+
+        when(itemDao.findAllByOwnerIdOrderById(any(), any())).thenReturn(List.of(item));
+        when(itemMapper.toListOutDTO(List.of(item))).thenReturn(List.of(ItemOutDTO.builder().id(itemId).build()));
+        when(commentDao.findLatestIdsByItemIds(List.of(itemId), 3)).thenReturn(List.of(5L));
+        when(commentDao.findAllWithAuthorByIdIn(List.of(5L))).thenReturn(List.of(comment));
+        when(commentMapper.toOutDTO(comment)).thenReturn(commentOutDTO);
+
+        List<ItemOutDTO> items = itemService.getAllItemsByOwner(ownerId, 0, 10);
+
+        assertEquals(List.of(commentOutDTO), items.get(0).getComments());
+    }
+
+    @Test
+    void testAddItems_InTransaction_IndexesItemsOnlyAfterCommit() {
+        Long ownerId = 1L;
+        ItemDTO itemDto = ItemDTO.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .build();
+        Item item = Item.builder().id(2L).build();
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(itemMapper.toModel(itemDto)).thenReturn(item);
+        when(itemDao.saveAll(List.of(item))).thenReturn(List.of(item));
+        when(itemMapper.toOutDTO(item)).thenReturn(ItemOutDTO.builder().id(2L).build());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemService.addItems(ownerId, List.of(itemDto));
+            verify(itemSearchEngine, never()).index(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(itemSearchEngine).index(item);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDTO;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ServiceMetricsAspectTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testCreateUser_RecordsLatencyAndStatements() {
+        userService.createUser(UserDTO.builder()
+                .name("Test")
+                .email("metrics@test.com")
+                .build());
+
+        assertEquals(1, meterRegistry.get("shareit.service.calls")
+                .tags("service", "UserServiceImpl", "method", "createUser", "exception", "none")
+                .timer()
+                .count());
+        DistributionSummary statements = meterRegistry.get("shareit.service.sql.statements")
+                .tags("service", "UserServiceImpl", "method", "createUser")
+                .summary();
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() > 0);
+    }
+
+    @Test
+    void testGetUserById_WithUnknownUser_CountsError() {
+        assertThrows(NotFoundException.class, () -> userService.getUserById(-1L));
+
+        assertEquals(1.0, meterRegistry.get("shareit.service.errors")
+                .tags("method", "getUserById", "exception", "NotFoundException")
+                .counter()
+                .count());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlRequestInspectorTest {
+    private final SqlRequestInspector inspector = new SqlRequestInspector(Duration.ofMillis(200), 3);
+
+    @Test
+    void testShape_WithLiterals_ReplacesThemWithPlaceholders() {
+        assertEquals("select * from items where id = ? and name = ?",
+                SqlRequestInspector.shape("select *\n  from items where id = 42 and name = 'Дрель'"));
+        assertEquals("select item0_.id from items item0_ where item0_.owner_id=?",
+                SqlRequestInspector.shape("select item0_.id from items item0_ where item0_.owner_id=?"));
+    }
+
+    @Test
+    void testAfterQuery_WithinRequest_CountsStatementsAgainstBudget() {
+        inspector.begin("GET /items", 10);
+        inspector.declareBudget(2);
+        for (int i = 0; i < 3; i++) {
+            execute("select * from comments where item_id = " + i);
+        }
+
+        SqlRequestContext context = inspector.end();
+
+        assertEquals("GET /items", context.getRequest());
+        assertEquals(3, context.getStatements());
+        assertEquals(2, context.getBudget());
+        assertTrue(context.isOverBudget());
+    }
+
+    @Test
+    void testAfterQuery_OutsideRequest_IsIgnored() {
+        execute("select * from items");
+
+        assertNull(inspector.end());
+        inspector.begin("GET /users", 1);
+        assertFalse(inspector.end().isOverBudget());
+    }
+
+    private void execute(String query) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(1);
+        inspector.afterQuery(executionInfo, List.of(new QueryInfo(query)));
+    }
+}
@@ -18,6 +18,7 @@ import ru.practicum.shareit.request.dao.ItemRequestDao;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapping.ItemRequestMapping;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
 
@@ -41,6 +42,9 @@ class ItemRequestServiceImplTest {
     @Mock
     private UserDao userDao;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @Mock
     private ItemDao itemDao;
 
@@ -118,7 +122,7 @@ class ItemRequestServiceImplTest {
     @SneakyThrows
     void testGetItemRequest_ByRequestId_ReturnItemRequestDto() {
         setUp();
-        when(userDao.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestDao.findById(itemRequestId)).thenReturn(Optional.of(itemRequest));
         when(itemRequestMapping.toDto(itemRequest)).thenReturn(itemRequestDto);
         when(itemDao.findAllByRequestId(itemRequestId)).thenReturn(List.of());
@@ -128,7 +132,7 @@ class ItemRequestServiceImplTest {
     @Test
     @SneakyThrows
     void testGetItemRequest_ByInvalidRequestId_ReturnNotFoundException() {
-        when(userDao.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestDao.findById(invalidId)).thenThrow(NotFoundException.class);
         assertThrows(NotFoundException.class, () -> itemRequestService.findById(userId, invalidId));
     }
@@ -142,7 +146,7 @@ class ItemRequestServiceImplTest {
         user.setEmail("test@test.com");
         user.setName("Test");
 
-        when(userDao.existsById(user.getId())).thenReturn(true);
+        when(userExistenceCache.exists(user.getId())).thenReturn(true);
         when(itemRequestDao.findAllByRequesterId(user.getId())).thenReturn(List.of(itemRequest));
         when(itemDao.findAllByRequestIdIn(List.of(1L))).thenReturn(List.of(item));
         when(itemRequestMapping.toDto(itemRequest)).thenReturn(itemRequestDto);
@@ -161,7 +165,7 @@ class ItemRequestServiceImplTest {
         List<ItemRequest> itemRequests = Collections.emptyList();
         Page<ItemRequest> pagedResponse = new PageImpl<>(itemRequests);
 
-        when(userDao.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestDao.findAllByRequesterIdNot(eq(userId), any(Pageable.class))).thenReturn(pagedResponse);
 
         List<ItemRequestDto> result = itemRequestService.findAllByOtherUsers(userId, from, size);
@@ -178,14 +182,14 @@ class ItemRequestServiceImplTest {
     @Test
     void getAllItemRequests_InvalidUserId_ExceptionThrown() {
         Long userId = 2L;
-        when(userDao.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
         assertThrows(NotFoundException.class, () -> itemRequestService.findAllByOtherUsers(userId, 0, 5));
     }
 
     @Test
     void testFindById_UserNotFound() {
         Long userId = 999L;
-        when(userDao.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
         assertThrows(NotFoundException.class, () -> itemRequestService.findById(userId, 1L));
     }
 }
\ No newline at end of file
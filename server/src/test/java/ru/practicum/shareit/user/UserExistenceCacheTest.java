@@ -0,0 +1,92 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.dao.UserDao;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceCacheTest {
+
+    @Mock
+    private UserDao userDao;
+
+    private UserExistenceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserExistenceCache(userDao, new SimpleMeterRegistry(), 100, Duration.ofHours(1),
+                Duration.ofHours(1));
+    }
+
+    @Test
+    void testExists_AfterFirstLookup_AnswersFromCache() {
+        when(userDao.existsById(1L)).thenReturn(true);
+        when(userDao.existsById(2L)).thenReturn(false);
+
+        assertTrue(cache.exists(1L));
+        assertTrue(cache.exists(1L));
+        assertFalse(cache.exists(2L));
+        assertFalse(cache.exists(2L));
+
+        verify(userDao, times(1)).existsById(1L);
+        verify(userDao, times(1)).existsById(2L);
+    }
+
+    @Test
+    void testExists_AfterCreateAndDelete_ReflectsWrites() {
+        when(userDao.existsById(1L)).thenReturn(false);
+        assertFalse(cache.exists(1L));
+
+        cache.created(1L);
+        assertTrue(cache.exists(1L));
+
+        cache.deleted(1L);
+        assertFalse(cache.exists(1L));
+        verify(userDao, times(1)).existsById(1L);
+    }
+
+    @Test
+    void testExists_WithCreatedUser_SkipsDatabase() {
+        cache.created(3L);
+
+        assertTrue(cache.exists(3L));
+        verify(userDao, never()).existsById(3L);
+    }
+
+    @Test
+    void testExists_WithDeleteDuringLookup_DoesNotCacheStaleResult() {
+        when(userDao.existsById(1L)).thenAnswer(invocation -> {
+            cache.deleted(1L);
+            return true;
+        });
+
+        assertTrue(cache.exists(1L));
+        assertFalse(cache.exists(1L));
+        verify(userDao, times(1)).existsById(1L);
+    }
+
+    @Test
+    void testExists_WithCreateDuringLookup_DoesNotCacheStaleResult() {
+        when(userDao.existsById(1L)).thenAnswer(invocation -> {
+            cache.created(1L);
+            return false;
+        });
+
+        assertFalse(cache.exists(1L));
+        assertTrue(cache.exists(1L));
+        verify(userDao, times(1)).existsById(1L);
+    }
+}
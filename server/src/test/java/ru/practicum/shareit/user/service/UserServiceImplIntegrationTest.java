@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingOutDTO;
+import ru.practicum.shareit.item.dto.ItemDTO;
+import ru.practicum.shareit.item.dto.ItemOutDTO;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDTO;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class UserServiceImplIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void testDeleteUser_WithBookings_FreesBookedSlot() {
+        Long ownerId = createUser("owner");
+        Long bookerId = createUser("booker");
+        Long otherBookerId = createUser("other");
+        ItemOutDTO item = itemService.addItem(ownerId, ItemDTO.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        bookingService.createBooking(booking(item.getId(), bookerId, start, end));
+
+        userService.deleteUser(bookerId);
+
+        assertNull(itemService.getItemById(item.getId(), ownerId).getNextBooking());
+        BookingOutDTO rebooked = bookingService.createBooking(booking(item.getId(), otherBookerId, start, end));
+        assertNotNull(rebooked.getId());
+    }
+
+    private Long createUser(String name) {
+        return userService.createUser(UserDTO.builder()
+                .name(name)
+                .email(name + "@deleted-user-test.ru")
+                .build()).getId();
+    }
+
+    private static BookingDTO booking(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        return BookingDTO.builder()
+                .itemId(itemId)
+                .bookerId(bookerId)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
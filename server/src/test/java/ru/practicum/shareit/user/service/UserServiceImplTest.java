@@ -8,7 +8,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.dto.UserDTO;
@@ -19,6 +23,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +37,18 @@ public class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private ItemDao itemDao;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
     private User user;
 
     private UserDTO userDto;
@@ -73,6 +90,7 @@ public class UserServiceImplTest {
         UserOutDTO result = userService.createUser(userDto);
         assertNotNull(result);
         assertEquals(userOutDto.getId(), result.getId());
+        verify(userExistenceCache).created(user.getId());
     }
 
     @Test
@@ -113,7 +131,11 @@ public class UserServiceImplTest {
     @SneakyThrows
     void deleteUserTest() {
         when(userDao.existsById(user.getId())).thenReturn(true);
+        when(itemDao.findIdsByOwnerId(user.getId())).thenReturn(List.of(3L));
         userService.deleteUser(user.getId());
+        verify(userExistenceCache).deleted(user.getId());
+        verify(bookingIntervalIndex).removeUser(user.getId(), List.of(3L));
+        verify(itemSearchEngine).remove(List.of(3L));
     }
 
     @Test